@@ -22,6 +22,24 @@ repositories {
     mavenCentral()
 }
 
+// JMH microbenchmarks against the main classes; not part of build, run with the jmh task
+val jmh: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations["jmhImplementation"].extendsFrom(configurations.implementation.get())
+configurations["jmhRuntimeOnly"].extendsFrom(configurations.runtimeOnly.get())
+
+// End-to-end load test of the whole application against PostgreSQL; not part of build, run with the loadTest task
+val loadtest: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations["loadtestImplementation"].extendsFrom(configurations.implementation.get())
+configurations["loadtestRuntimeOnly"].extendsFrom(configurations.runtimeOnly.get())
+
 dependencies {
     // Spring WebFlux
     implementation("org.springframework.boot:spring-boot-starter-webflux")
@@ -40,6 +58,10 @@ dependencies {
 
     // Actuator
     implementation("org.springframework.boot:spring-boot-starter-actuator")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
+
+    // Caffeine (bounded in-memory caches)
+    implementation("com.github.ben-manes.caffeine:caffeine")
 
     // Mail (for email delivery channel)
     implementation("org.springframework.boot:spring-boot-starter-mail")
@@ -57,8 +79,42 @@ dependencies {
     // Test
     testImplementation("org.springframework.boot:spring-boot-starter-test")
     testImplementation("io.projectreactor:reactor-test")
+
+    // Benchmarks
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:1.37")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
+
+    // Load test
+    "loadtestImplementation"("org.testcontainers:postgresql")
+    "loadtestImplementation"("org.hdrhistogram:HdrHistogram:2.2.2")
+    "loadtestRuntimeOnly"("org.postgresql:postgresql")
 }
 
 tasks.test {
     useJUnitPlatform()
 }
+
+// gradle jmh [-Pjmh.include=<regex>] [-Pjmh.args="<more JMH options>"]; results go to build/reports/jmh/results.json
+// so that runs on two commits can be compared
+tasks.register<JavaExec>("jmh") {
+    description = "Runs the JMH benchmarks and writes the results as JSON."
+    group = "benchmark"
+    classpath = jmh.runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    val results = layout.buildDirectory.file("reports/jmh/results.json")
+    doFirst { results.get().asFile.parentFile.mkdirs() }
+    args("-rf", "json", "-rff", results.get().asFile.absolutePath)
+    project.findProperty("jmh.args")?.let { args(it.toString().split(" ").filter(String::isNotBlank)) }
+    project.findProperty("jmh.include")?.let { args(it.toString()) }
+}
+
+// gradle loadTest [-Ploadtest.clients=20 -Ploadtest.events-per-second=100 ...], see LoadTestSettings.
+// Starts a PostgreSQL container unless -Ploadtest.r2dbc-url is given.
+tasks.register<JavaExec>("loadTest") {
+    description = "Runs the end-to-end load test and reports latency percentiles and throughput."
+    group = "benchmark"
+    classpath = loadtest.runtimeClasspath
+    mainClass.set("com.notifyhub.loadtest.LoadTest")
+    systemProperty("loadtest.report-dir", layout.buildDirectory.dir("reports/loadtest").get().asFile.absolutePath)
+    systemProperties(project.properties.filterKeys { it.startsWith("loadtest.") })
+}
@@ -122,21 +122,35 @@ export interface NotificationDto {
 }
 
 export const notificationApi = {
-  list: (page = 0, size = 50, status?: string) => {
-    let path = `/notifications?page=${page}&size=${size}`;
+  // after: cursor of the last item of the previous page, see notificationCursor
+  list: (after?: string, size = 50, status?: string) => {
+    let path = `/notifications?size=${size}`;
+    if (after) path += `&after=${encodeURIComponent(after)}`;
     if (status) path += `&status=${status}`;
     return request<NotificationDto[]>(path);
   },
-  listBetween: (from: string, to: string) =>
-    request<NotificationDto[]>(`/notifications?from=${from}&to=${to}`),
+  // Paged like list: a range can hold more than one page
+  listBetween: (from: string, to: string, after?: string, size = 50) => {
+    let path = `/notifications?from=${from}&to=${to}&size=${size}`;
+    if (after) path += `&after=${encodeURIComponent(after)}`;
+    return request<NotificationDto[]>(path);
+  },
 };
 
+export const notificationCursor = (n: NotificationDto) => `${n.createdAt},${n.id}`;
+
 // Monitoring
 export interface Stats {
   totalUsers: number;
   totalSubscriptions: number;
   totalEvents: number;
   totalNotifications: number;
+  totalsReconciledAt: string | null;
+  rates: {
+    eventsPerSecond: Record<string, number>;
+    notificationsPerSecond: Record<string, number>;
+    deliveriesPerSecond: Record<string, Record<string, number>>;
+  };
 }
 
 export const monitoringApi = {
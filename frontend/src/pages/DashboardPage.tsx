@@ -8,7 +8,7 @@ export default function DashboardPage() {
 
   useEffect(() => {
     // Load recent notifications
-    notificationApi.list(0, 50).then(setNotifications).catch(console.error);
+    notificationApi.list(undefined, 50).then(setNotifications).catch(console.error);
 
     // Connect SSE
     const es = createNotificationStream(
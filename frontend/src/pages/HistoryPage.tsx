@@ -1,10 +1,12 @@
 import { useState, useEffect } from 'react';
-import { NotificationDto, notificationApi } from '../api';
+import { NotificationDto, notificationApi, notificationCursor } from '../api';
 
 export default function HistoryPage() {
   const [notifications, setNotifications] = useState<NotificationDto[]>([]);
   const [statusFilter, setStatusFilter] = useState('');
   const [page, setPage] = useState(0);
+  // cursors[i] is where page i starts; page 0 starts at the top
+  const [cursors, setCursors] = useState<(string | undefined)[]>([undefined]);
   const [loading, setLoading] = useState(false);
 
   useEffect(() => {
@@ -14,7 +16,7 @@ export default function HistoryPage() {
   const loadNotifications = async () => {
     setLoading(true);
     try {
-      const data = await notificationApi.list(page, 50, statusFilter || undefined);
+      const data = await notificationApi.list(cursors[page], 50, statusFilter || undefined);
       setNotifications(data);
     } catch (e) {
       console.error(e);
@@ -36,7 +38,7 @@ export default function HistoryPage() {
 
       <div className="toolbar">
         <label style={{ fontWeight: 500 }}>Status:</label>
-        <select value={statusFilter} onChange={(e) => { setStatusFilter(e.target.value); setPage(0); }}>
+        <select value={statusFilter} onChange={(e) => { setStatusFilter(e.target.value); setPage(0); setCursors([undefined]); }}>
           <option value="">All</option>
           <option value="CREATED">CREATED</option>
           <option value="QUEUED">QUEUED</option>
@@ -48,7 +50,11 @@ export default function HistoryPage() {
             Prev
           </button>
           <span style={{ alignSelf: 'center', fontSize: '0.875rem', color: '#64748b' }}>Page {page + 1}</span>
-          <button className="btn btn-sm btn-primary" disabled={notifications.length < 50} onClick={() => setPage(p => p + 1)}>
+          <button className="btn btn-sm btn-primary" disabled={notifications.length < 50} onClick={() => {
+            const next = notificationCursor(notifications[notifications.length - 1]);
+            setCursors(c => [...c.slice(0, page + 1), next]);
+            setPage(p => p + 1);
+          }}>
             Next
           </button>
         </div>
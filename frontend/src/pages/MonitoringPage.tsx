@@ -59,6 +59,39 @@ export default function MonitoringPage() {
         </div>
       </div>
 
+      {stats?.rates && (
+        <div className="card" style={{ marginBottom: '1rem' }}>
+          <h3 style={{ marginBottom: '1rem' }}>Throughput (per second)</h3>
+          <div className="table-container">
+            <table>
+              <thead>
+                <tr>
+                  <th>Stream</th>
+                  {Object.keys(stats.rates.eventsPerSecond).map((window) => (
+                    <th key={window}>Last {window}</th>
+                  ))}
+                </tr>
+              </thead>
+              <tbody>
+                {[
+                  ['Events', stats.rates.eventsPerSecond] as const,
+                  ['Notifications', stats.rates.notificationsPerSecond] as const,
+                  ...Object.entries(stats.rates.deliveriesPerSecond).map(
+                    ([status, rates]) => [`Deliveries ${status}`, rates] as const),
+                ].map(([name, rates]) => (
+                  <tr key={name}>
+                    <td>{name}</td>
+                    {Object.keys(stats.rates.eventsPerSecond).map((window) => (
+                      <td key={window}>{(rates[window] ?? 0).toFixed(2)}</td>
+                    ))}
+                  </tr>
+                ))}
+              </tbody>
+            </table>
+          </div>
+        </div>
+      )}
+
       <div className="card">
         <h3 style={{ marginBottom: '1rem' }}>System Health</h3>
         {health ? (
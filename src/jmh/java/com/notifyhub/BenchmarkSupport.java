@@ -0,0 +1,67 @@
+package com.notifyhub;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Wiring for benchmarks that build components without a Spring context.
+ */
+public final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * In-memory stand-in for a repository interface: each named method is answered by its function,
+     * any other call fails so a benchmark never silently measures an unstubbed path.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T repository(Class<T> type, Map<String, Function<Object[], Object>> methods) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> type.getSimpleName() + " stub";
+                };
+            }
+            Function<Object[], Object> answer = methods.get(method.getName());
+            if (answer == null) {
+                throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName() + " is not stubbed");
+            }
+            return answer.apply(args);
+        });
+    }
+
+    public static <T> T repository(Class<T> type) {
+        return repository(type, Map.of());
+    }
+
+    /**
+     * Sets a field that Spring would inject with {@code @Value}.
+     */
+    public static void set(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot set " + name + " on " + target.getClass().getSimpleName(), e);
+        }
+    }
+
+    /**
+     * JSON-ish payload of roughly {@code bytes} characters, with {@code marker} at the very end.
+     */
+    public static String payload(int bytes, String marker) {
+        StringBuilder payload = new StringBuilder(bytes + marker.length() + 32).append("{\"detail\":\"");
+        String filler = "lorem ipsum dolor sit amet consectetur adipiscing elit ";
+        while (payload.length() < bytes) {
+            payload.append(filler);
+        }
+        payload.setLength(Math.max(payload.length() - filler.length(), 12));
+        return payload.append(marker).append("\"}").toString();
+    }
+}
@@ -0,0 +1,52 @@
+package com.notifyhub.delivery;
+
+import com.notifyhub.BenchmarkSupport;
+import com.notifyhub.model.Event;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.UUID;
+
+/**
+ * Telegram message text as built for {@link TelegramDeliveryChannel}, with the default template:
+ * {@code firstRecipient} renders a new event every time, {@code nextRecipient} is served from the render cache.
+ */
+@State(Scope.Benchmark)
+public class MessageRendererBenchmark {
+
+    @Param({"256", "4096"})
+    public int payloadBytes;
+
+    private MessageRenderer renderer;
+    private Event event;
+    private long nextId;
+
+    @Setup
+    public void setUp() {
+        renderer = new MessageRenderer(new StandardEnvironment(), new SimpleMeterRegistry(), 10_000, 600);
+        event = Event.builder()
+                .id(new UUID(0, 0))
+                .sourceType("GEN")
+                .title("SSL Certificate <Expiring> Soon & more")
+                .payloadJson(BenchmarkSupport.payload(payloadBytes, "end"))
+                .priority("HIGH")
+                .build();
+    }
+
+    @Benchmark
+    public MessageRenderer.RenderedMessage firstRecipient() {
+        event.setId(new UUID(1, nextId++));
+        return renderer.telegram(event);
+    }
+
+    @Benchmark
+    public MessageRenderer.RenderedMessage nextRecipient() {
+        event.setId(new UUID(0, 0));
+        return renderer.telegram(event);
+    }
+}
@@ -0,0 +1,115 @@
+package com.notifyhub.engine;
+
+import com.notifyhub.BenchmarkSupport;
+import com.notifyhub.model.Event;
+import com.notifyhub.model.Rule;
+import com.notifyhub.repository.NotificationRepository;
+import com.notifyhub.repository.RuleRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Rule evaluation of one event for one subscription, and the keyword scan behind it.
+ * The subscription has {@code rules} keyword rules and only the last one matches, at the very end
+ * of a {@code payloadBytes} payload, so every rule is visited and the whole text is scanned.
+ * Keywords are bracketed so that none is a substring of another.
+ * Rules have no rate limit or dedup window; those are bounded by {@link RuleLimiter} map lookups.
+ */
+@State(Scope.Benchmark)
+public class RuleEngineBenchmark {
+
+    static final long SUBSCRIPTION_ID = 1L;
+    static final long USER_ID = 1L;
+
+    @Param({"10", "100", "1000"})
+    public int rules;
+
+    @Param({"256", "4096"})
+    public int payloadBytes;
+
+    private RuleCache ruleCache;
+    private RuleEngine ruleEngine;
+    private List<CompiledRule> compiledRules;
+    private Event event;
+
+    @Setup
+    public void setUp() {
+        List<Rule> stored = rules(rules);
+        compiledRules = stored.stream().map(CompiledRule::compile).toList();
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RuleRepository ruleRepository = BenchmarkSupport.repository(RuleRepository.class,
+                Map.of("findAll", args -> Flux.fromIterable(stored)));
+        ruleCache = new RuleCache(ruleRepository, meterRegistry);
+        ruleCache.reload().block();
+        ruleEngine = new RuleEngine(ruleCache,
+                new RuleLimiter(BenchmarkSupport.repository(NotificationRepository.class), meterRegistry), meterRegistry);
+
+        event = event(payloadBytes, "[kw" + (rules - 1) + "]");
+        // Build the keyword automaton outside the measurement
+        ruleCache.matchKeywords(event);
+    }
+
+    @Benchmark
+    public RuleEngine.Match evaluate() {
+        return ruleEngine.evaluate(event, ruleEngine.matchKeywords(event), SUBSCRIPTION_ID, USER_ID).block();
+    }
+
+    /**
+     * One scan of the event against the automaton over all rules.
+     */
+    @Benchmark
+    public KeywordMatches keywordAutomaton() {
+        return ruleCache.matchKeywords(event);
+    }
+
+    /**
+     * Per-rule substring search, as done for rules not yet in the automaton.
+     */
+    @Benchmark
+    public int keywordPerRule() {
+        String content = event.getTitle().toLowerCase(Locale.ROOT) + " " + event.getPayloadJson().toLowerCase(Locale.ROOT);
+        int matched = 0;
+        for (CompiledRule rule : compiledRules) {
+            if (rule.matchesKeywords(content)) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+
+    static List<Rule> rules(int count) {
+        List<Rule> rules = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rules.add(Rule.builder()
+                    .id((long) i)
+                    .subscriptionId(SUBSCRIPTION_ID)
+                    .keywordFilter("[kw" + i + "], [alt" + i + "]")
+                    .priority("HIGH")
+                    .build());
+        }
+        return rules;
+    }
+
+    static Event event(int payloadBytes, String marker) {
+        return Event.builder()
+                .id(UUID.randomUUID())
+                .sourceType("GEN")
+                .externalId("gen:bench")
+                .title("High CPU Usage Detected")
+                .payloadJson(BenchmarkSupport.payload(payloadBytes, marker))
+                .priority("MEDIUM")
+                .build();
+    }
+}
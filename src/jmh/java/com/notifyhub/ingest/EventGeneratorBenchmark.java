@@ -0,0 +1,28 @@
+package com.notifyhub.ingest;
+
+import com.notifyhub.model.Event;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * One poll of {@link EventGeneratorConnector}, i.e. building its batch of synthetic events.
+ */
+@State(Scope.Benchmark)
+public class EventGeneratorBenchmark {
+
+    private EventGeneratorConnector connector;
+
+    @Setup
+    public void setUp() {
+        connector = new EventGeneratorConnector();
+    }
+
+    @Benchmark
+    public List<Event> poll() {
+        return connector.poll("{}").collectList().block();
+    }
+}
@@ -0,0 +1,73 @@
+package com.notifyhub.security;
+
+import com.notifyhub.BenchmarkSupport;
+import com.notifyhub.model.User;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Authentication step of {@link JwtAuthenticationFilter} per request:
+ * {@code threeParses} is the former path (validate, then read userId and role, each with a newly built parser),
+ * {@code verify} is {@link JwtUtil#verify}. Clients reuse their token, so a small set of tokens is cycled.
+ */
+@Threads(4)
+@State(Scope.Benchmark)
+public class JwtAuthBenchmark {
+
+    private static final String SECRET = "NotifyHubSuperSecretKeyForJwtTokenGenerationMustBeAtLeast256Bits2026";
+    // Power of two, indexed with a mask
+    private static final int TOKENS = 64;
+
+    private JwtUtil jwtUtil;
+    private SecretKey key;
+    private String[] tokens;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(new SimpleMeterRegistry());
+        BenchmarkSupport.set(jwtUtil, "secret", SECRET);
+        BenchmarkSupport.set(jwtUtil, "expirationMs", 3_600_000L);
+        BenchmarkSupport.set(jwtUtil, "cacheMaxSize", 10_000L);
+        jwtUtil.init();
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+
+        tokens = new String[TOKENS];
+        for (int i = 0; i < TOKENS; i++) {
+            User user = new User();
+            user.setId((long) i);
+            user.setUsername("user" + i);
+            user.setRole("USER");
+            tokens[i] = jwtUtil.generateToken(user);
+        }
+    }
+
+    @Benchmark
+    public void threeParses(Cursor cursor, Blackhole blackhole) {
+        String token = tokens[cursor.next++ & (TOKENS - 1)];
+        Jwts.parser().verifyWith(key).build().parseSignedClaims(token);
+        blackhole.consume(Jwts.parser().verifyWith(key).build().parseSignedClaims(token)
+                .getPayload().get("userId", Long.class));
+        blackhole.consume(Jwts.parser().verifyWith(key).build().parseSignedClaims(token)
+                .getPayload().get("role", String.class));
+    }
+
+    @Benchmark
+    public JwtUtil.VerifiedToken verify(Cursor cursor) {
+        return jwtUtil.verify(tokens[cursor.next++ & (TOKENS - 1)]);
+    }
+}
@@ -0,0 +1,66 @@
+package com.notifyhub.service;
+
+import com.notifyhub.BenchmarkSupport;
+import com.notifyhub.dto.NotificationDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import reactor.core.Disposable;
+import reactor.core.publisher.BufferOverflowStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One {@link NotificationSinkService#push} to a user with {@code subscribers} open SSE connections,
+ * each draining its buffer synchronously like an attached client that keeps up.
+ */
+@State(Scope.Benchmark)
+public class SseFanOutBenchmark {
+
+    private static final long USER_ID = 1L;
+
+    @Param({"1", "10", "100"})
+    public int subscribers;
+
+    private NotificationSinkService sinkService;
+    private NotificationDto notification;
+    private final List<Disposable> connections = new ArrayList<>();
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        sinkService = new NotificationSinkService(new SimpleMeterRegistry());
+        BenchmarkSupport.set(sinkService, "bufferSize", 256);
+        BenchmarkSupport.set(sinkService, "overflowStrategy", BufferOverflowStrategy.DROP_OLDEST);
+        for (int i = 0; i < subscribers; i++) {
+            connections.add(sinkService.streamForUser(USER_ID).subscribe(blackhole::consume));
+        }
+        notification = NotificationDto.builder()
+                .id(1L)
+                .userId(USER_ID)
+                .eventId(UUID.randomUUID())
+                .channel("UI")
+                .status("SENT")
+                .eventTitle("High CPU Usage Detected")
+                .eventSourceType("GEN")
+                .eventPriority("HIGH")
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        connections.forEach(Disposable::dispose);
+        connections.clear();
+    }
+
+    @Benchmark
+    public void push() {
+        sinkService.push(notification);
+    }
+}
@@ -0,0 +1,242 @@
+package com.notifyhub.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.notifyhub.NotifyHubApplication;
+import com.notifyhub.dto.AuthResponse;
+import com.notifyhub.dto.NotificationDto;
+import com.notifyhub.dto.RegisterRequest;
+import com.notifyhub.dto.RuleDto;
+import com.notifyhub.dto.SubscriptionDto;
+import com.notifyhub.service.StatsService;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * End-to-end load test: the full application against PostgreSQL, fed by the event generator in load mode.
+ * Registers {@code clients} users, each with a generator subscription and an open SSE connection, then measures
+ * for {@code duration-seconds} after {@code warmup-seconds}:
+ * <ul>
+ *     <li>ingest-to-SSE latency: from generation of an event to its notification arriving at a client;</li>
+ *     <li>ingest-to-delivery latency: from generation to the outbox marking the external notification sent
+ *     on {@link LoadTestDeliveryChannel}, which sends nothing, so this is the outbox path itself;</li>
+ *     <li>sustained throughput of new events, SSE notifications and deliveries.</li>
+ * </ul>
+ * Only events generated inside the measurement window count; {@code drain-seconds} lets the last ones land.
+ * Percentile distributions are written to {@code report-dir} as {@code .hgrm} files.
+ * Run with {@code gradle loadTest}, see {@link LoadTestSettings} for the {@code -Ploadtest.*} options.
+ */
+public class LoadTest {
+
+    private static final String PASSWORD = "loadtest-password";
+
+    private final LoadTestSettings settings;
+    private final ConfigurableApplicationContext context;
+    private final ObjectMapper objectMapper;
+    private final Recorder sseLatency = new Recorder(3);
+    private final LongAdder sseReceived = new LongAdder();
+
+    private volatile long windowStartMicros = Long.MAX_VALUE;
+    private volatile long windowEndMicros = Long.MAX_VALUE;
+
+    LoadTest(LoadTestSettings settings, ConfigurableApplicationContext context) {
+        this.settings = settings;
+        this.context = context;
+        this.objectMapper = context.getBean(ObjectMapper.class);
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        Map<String, Object> properties = settings.applicationProperties();
+
+        PostgreSQLContainer<?> postgres = null;
+        if (settings.r2dbcUrl() == null) {
+            postgres = new PostgreSQLContainer<>(DockerImageName.parse(settings.postgresImage()));
+            postgres.start();
+            properties.put("spring.r2dbc.url", "r2dbc:postgresql://" + postgres.getHost() + ":"
+                    + postgres.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT) + "/" + postgres.getDatabaseName());
+            properties.put("spring.r2dbc.username", postgres.getUsername());
+            properties.put("spring.r2dbc.password", postgres.getPassword());
+        }
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(NotifyHubApplication.class, LoadTestDeliveryChannel.class)
+                .properties(properties)
+                .run(args)) {
+            new LoadTest(settings, context).run();
+        } finally {
+            if (postgres != null) {
+                postgres.stop();
+            }
+        }
+    }
+
+    void run() throws InterruptedException, IOException {
+        int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+        ConnectionProvider connections = ConnectionProvider.builder("loadtest")
+                .maxConnections(settings.clients() + 16)
+                .build();
+        WebClient client = WebClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connections)))
+                .build();
+
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        List<String> tokens = Flux.range(0, settings.clients())
+                .flatMap(i -> setUpClient(client, "load-" + run + "-" + i), 16)
+                .collectList()
+                .block();
+        System.out.printf("%d clients ready, target %.0f events/s%n", tokens.size(), settings.eventsPerSecond());
+
+        Disposable.Composite streams = Disposables.composite();
+        tokens.forEach(token -> streams.add(stream(client, token)));
+
+        StatsService stats = context.getBean(StatsService.class);
+        TimeUnit.SECONDS.sleep(settings.warmupSeconds());
+        long eventsBefore = totalEvents(stats);
+        LocalDateTime windowStart = LocalDateTime.now();
+        windowStartMicros = nowMicros();
+
+        TimeUnit.SECONDS.sleep(settings.durationSeconds());
+        windowEndMicros = nowMicros();
+        LocalDateTime windowEnd = LocalDateTime.now();
+        long events = totalEvents(stats) - eventsBefore;
+
+        TimeUnit.SECONDS.sleep(settings.drainSeconds());
+        long sse = sseReceived.sum();
+        streams.dispose();
+
+        Histogram sseHistogram = sseLatency.getIntervalHistogram();
+        Histogram deliveryHistogram = deliveryLatency(windowStart, windowEnd);
+        connections.dispose();
+
+        double seconds = settings.durationSeconds();
+        System.out.printf("%nSustained throughput over %d s:%n", settings.durationSeconds());
+        System.out.printf("  new events         %10.1f/s%n", events / seconds);
+        System.out.printf("  SSE notifications  %10.1f/s%n", sse / seconds);
+        System.out.printf("  deliveries         %10.1f/s%n", deliveryHistogram.getTotalCount() / seconds);
+        report("ingest-to-SSE", sseHistogram);
+        report("ingest-to-delivery", deliveryHistogram);
+    }
+
+    /**
+     * Registers a user with a generator subscription (and a keyword rule when enabled).
+     *
+     * @return the user's token
+     */
+    private Mono<String> setUpClient(WebClient client, String username) {
+        return client.post().uri("/api/auth/register")
+                .bodyValue(new RegisterRequest(username, username + "@loadtest.local", PASSWORD))
+                .retrieve()
+                .bodyToMono(AuthResponse.class)
+                .flatMap(auth -> client.post().uri("/api/subscriptions")
+                        .headers(h -> h.setBearerAuth(auth.getToken()))
+                        .bodyValue(SubscriptionDto.builder().sourceType("GEN").params("{}").enabled(true).build())
+                        .retrieve()
+                        .bodyToMono(SubscriptionDto.class)
+                        .flatMap(subscription -> !settings.rules()
+                                ? Mono.just(subscription)
+                                : client.post().uri("/api/rules")
+                                        .headers(h -> h.setBearerAuth(auth.getToken()))
+                                        .bodyValue(RuleDto.builder()
+                                                .subscriptionId(subscription.getId())
+                                                .keywordFilter(LoadTestSettings.KEYWORD)
+                                                .build())
+                                        .retrieve()
+                                        .bodyToMono(RuleDto.class))
+                        .thenReturn(auth.getToken()));
+    }
+
+    private Disposable stream(WebClient client, String token) {
+        return client.get().uri("/api/stream/notifications?token={token}", token)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .retrieve()
+                .bodyToFlux(new ParameterizedTypeReference<ServerSentEvent<NotificationDto>>() {})
+                .filter(event -> "notification".equals(event.event()) && event.data() != null)
+                .subscribe(event -> received(event.data()),
+                        e -> System.err.println("SSE connection failed: " + e.getMessage()));
+    }
+
+    private void received(NotificationDto notification) {
+        long now = nowMicros();
+        long emittedAt;
+        try {
+            emittedAt = objectMapper.readTree(notification.getEventPayloadJson()).path("emittedAtMicros").asLong();
+        } catch (IOException e) {
+            return;
+        }
+        if (emittedAt >= windowStartMicros && emittedAt < windowEndMicros) {
+            sseReceived.increment();
+            sseLatency.recordValue(Math.max(0, now - emittedAt));
+        }
+    }
+
+    /**
+     * External notifications of events generated in the window that the outbox marked sent,
+     * timed from the event's creation to the status update.
+     */
+    private Histogram deliveryLatency(LocalDateTime from, LocalDateTime to) {
+        Histogram histogram = new Histogram(3);
+        context.getBean(DatabaseClient.class).sql("""
+                        SELECT (EXTRACT(EPOCH FROM (updated_at - event_created_at)) * 1000000)::BIGINT AS micros
+                          FROM notifications
+                         WHERE channel <> 'UI' AND status = 'SENT'
+                           AND event_created_at >= :from AND event_created_at < :to""")
+                .bind("from", from)
+                .bind("to", to)
+                .map(row -> row.get("micros", Long.class))
+                .all()
+                .doOnNext(micros -> histogram.recordValue(Math.max(0, micros)))
+                .blockLast();
+        return histogram;
+    }
+
+    private void report(String name, Histogram histogram) throws IOException {
+        System.out.printf("%n%s latency, ms (n=%d):%n", name, histogram.getTotalCount());
+        if (histogram.getTotalCount() == 0) {
+            return;
+        }
+        for (double percentile : new double[]{50, 90, 99, 99.9}) {
+            System.out.printf("  p%-5s %10.2f%n", percentile, histogram.getValueAtPercentile(percentile) / 1000.0);
+        }
+        System.out.printf("  max    %10.2f%n", histogram.getMaxValue() / 1000.0);
+
+        Files.createDirectories(settings.reportDir());
+        try (PrintStream out = new PrintStream(settings.reportDir().resolve(name + ".hgrm").toFile())) {
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private static long totalEvents(StatsService stats) {
+        return ((Number) stats.snapshot().get("totalEvents")).longValue();
+    }
+
+    private static long nowMicros() {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now());
+    }
+}
@@ -0,0 +1,35 @@
+package com.notifyhub.loadtest;
+
+import com.notifyhub.delivery.DeliveryChannel;
+import com.notifyhub.model.Event;
+import com.notifyhub.service.UserProfile;
+import reactor.core.publisher.Mono;
+
+/**
+ * External channel that reaches every user and sends nothing, so the load test measures the outbox path
+ * without Telegram or SMTP.
+ */
+public class LoadTestDeliveryChannel implements DeliveryChannel {
+
+    public static final String NAME = "LOADTEST";
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public boolean canReach(UserProfile user) {
+        return true;
+    }
+
+    @Override
+    public Mono<Void> send(UserProfile user, Event event) {
+        return Mono.empty();
+    }
+}
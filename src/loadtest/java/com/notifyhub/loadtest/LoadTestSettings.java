@@ -0,0 +1,82 @@
+package com.notifyhub.loadtest;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Settings of a load-test run, read from {@code loadtest.*} system properties.
+ *
+ * @param r2dbcUrl database to run against; when null a PostgreSQL container is started
+ * @param rules    whether every subscription gets a rule on the generator keyword,
+ *                 so only keyword hits become notifications
+ */
+record LoadTestSettings(
+        int clients,
+        double eventsPerSecond,
+        int sources,
+        double duplicateRatio,
+        String payloadBytes,
+        double keywordHitRate,
+        boolean rules,
+        int warmupSeconds,
+        int durationSeconds,
+        int drainSeconds,
+        String r2dbcUrl,
+        String username,
+        String password,
+        String postgresImage,
+        Path reportDir) {
+
+    static final String KEYWORD = "loadtest";
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.parseInt(property("clients", "20")),
+                Double.parseDouble(property("events-per-second", "100")),
+                Integer.parseInt(property("sources", "10")),
+                Double.parseDouble(property("duplicate-ratio", "0.1")),
+                property("payload-bytes", "256,1024,4096"),
+                Double.parseDouble(property("keyword-hit-rate", "0.2")),
+                Boolean.parseBoolean(property("rules", "false")),
+                Integer.parseInt(property("warmup-seconds", "10")),
+                Integer.parseInt(property("duration-seconds", "60")),
+                Integer.parseInt(property("drain-seconds", "10")),
+                property("r2dbc-url", null),
+                property("username", "notifyhub"),
+                property("password", "notifyhub"),
+                property("postgres-image", "postgres:16-alpine"),
+                Path.of(property("report-dir", "build/reports/loadtest")));
+    }
+
+    /**
+     * Application properties for the run: generator load mode at the target rate, and polling
+     * every second so the rate is spread evenly instead of arriving in a few large bursts.
+     */
+    Map<String, Object> applicationProperties() {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("server.port", 0);
+        properties.put("logging.level.com.notifyhub", "WARN");
+        properties.put("app.ingest.poll-interval-seconds", 1);
+        properties.put("app.ingest.scheduler.min-interval-seconds", 1);
+        properties.put("app.ingest.scheduler.refresh-seconds", 1);
+        properties.put("app.ingest.scheduler.tick-ms", 100);
+        properties.put("app.ingest.generator.load.enabled", true);
+        properties.put("app.ingest.generator.load.events-per-second", eventsPerSecond);
+        properties.put("app.ingest.generator.load.sources", sources);
+        properties.put("app.ingest.generator.load.duplicate-ratio", duplicateRatio);
+        properties.put("app.ingest.generator.load.payload-bytes", payloadBytes);
+        properties.put("app.ingest.generator.load.keyword", KEYWORD);
+        properties.put("app.ingest.generator.load.keyword-hit-rate", keywordHitRate);
+        if (r2dbcUrl != null) {
+            properties.put("spring.r2dbc.url", r2dbcUrl);
+            properties.put("spring.r2dbc.username", username);
+            properties.put("spring.r2dbc.password", password);
+        }
+        return properties;
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+}
@@ -4,19 +4,28 @@ import io.r2dbc.spi.ConnectionFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.r2dbc.connection.init.CompositeDatabasePopulator;
 import org.springframework.r2dbc.connection.init.ConnectionFactoryInitializer;
 import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.connection.init.ScriptUtils;
 
 @Configuration
 public class DatabaseConfig {
 
     @Bean
     ConnectionFactoryInitializer initializer(ConnectionFactory connectionFactory) {
+        // Partition functions and the conversion of pre-partitioning tables; plpgsql bodies contain
+        // semicolons, so this script is not split into statements
+        ResourceDatabasePopulator partitioning =
+                new ResourceDatabasePopulator(new ClassPathResource("schema-partitioning.sql"));
+        partitioning.setSeparator(ScriptUtils.EOF_STATEMENT_SEPARATOR);
+
         ConnectionFactoryInitializer initializer = new ConnectionFactoryInitializer();
         initializer.setConnectionFactory(connectionFactory);
-        initializer.setDatabasePopulator(
+        initializer.setDatabasePopulator(new CompositeDatabasePopulator(
+                partitioning,
                 new ResourceDatabasePopulator(new ClassPathResource("schema.sql"))
-        );
+        ));
         return initializer;
     }
 }
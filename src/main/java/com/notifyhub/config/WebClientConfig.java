@@ -1,20 +1,44 @@
 package com.notifyhub.config;
 
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * One {@link WebClient} per remote, each with its own Reactor Netty connection pool
+ * (limits apply per remote host) so a slow host cannot starve the others.
+ * Pool, timeout and codec settings are read from {@code app.http.<client>.*}, falling back to
+ * {@code app.http.defaults.*}. Pool metrics are published as {@code reactor.netty.connection.provider.*}
+ * tagged with the client name.
+ */
 @Configuration
+@RequiredArgsConstructor
 public class WebClientConfig {
 
+    private final Environment environment;
+    private final List<ConnectionProvider> providers = new CopyOnWriteArrayList<>();
+
     @Value("${app.github.token:}")
     private String githubToken;
 
     @Bean
     public WebClient githubWebClient() {
-        WebClient.Builder builder = WebClient.builder()
+        WebClient.Builder builder = builder("github")
                 .baseUrl("https://api.github.com");
 
         if (githubToken != null && !githubToken.isBlank()) {
@@ -28,13 +52,54 @@ public class WebClientConfig {
 
     @Bean
     public WebClient telegramWebClient() {
-        return WebClient.builder()
+        return builder("telegram")
                 .baseUrl("https://api.telegram.org")
                 .build();
     }
 
     @Bean
     public WebClient generalWebClient() {
-        return WebClient.builder().build();
+        return builder("general").build();
+    }
+
+    @PreDestroy
+    public void disposePools() {
+        providers.forEach(ConnectionProvider::dispose);
+    }
+
+    private WebClient.Builder builder(String name) {
+        ConnectionProvider provider = ConnectionProvider.builder(name)
+                .maxConnections(setting(name, "max-connections", Integer.class, 50))
+                .pendingAcquireMaxCount(setting(name, "pending-acquire-max-count", Integer.class, 1000))
+                .pendingAcquireTimeout(setting(name, "pending-acquire-timeout", Duration.class, Duration.ofSeconds(10)))
+                .maxIdleTime(setting(name, "max-idle-time", Duration.class, Duration.ofSeconds(30)))
+                .maxLifeTime(setting(name, "max-life-time", Duration.class, Duration.ofMinutes(5)))
+                .evictInBackground(setting(name, "evict-in-background", Duration.class, Duration.ofSeconds(30)))
+                .metrics(true)
+                .build();
+        providers.add(provider);
+
+        HttpClient httpClient = HttpClient.create(provider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS,
+                        (int) setting(name, "connect-timeout", Duration.class, Duration.ofSeconds(5)).toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .responseTimeout(setting(name, "response-timeout", Duration.class, Duration.ofSeconds(30)))
+                .compress(setting(name, "compress", Boolean.class, true));
+
+        if (setting(name, "http2", Boolean.class, true)) {
+            // Negotiated via ALPN on TLS connections; plain-HTTP hosts stay on HTTP/1.1
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+        }
+
+        int maxInMemorySize = (int) setting(name, "max-in-memory-size", DataSize.class, DataSize.ofMegabytes(1)).toBytes();
+
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(maxInMemorySize));
+    }
+
+    private <T> T setting(String client, String key, Class<T> type, T fallback) {
+        T value = environment.getProperty("app.http." + client + "." + key, type);
+        return value != null ? value : environment.getProperty("app.http.defaults." + key, type, fallback);
     }
 }
@@ -1,9 +1,6 @@
 package com.notifyhub.controller;
 
-import com.notifyhub.repository.EventRepository;
-import com.notifyhub.repository.NotificationRepository;
-import com.notifyhub.repository.SubscriptionRepository;
-import com.notifyhub.repository.UserRepository;
+import com.notifyhub.service.StatsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -17,23 +14,13 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class MonitoringController {
 
-    private final UserRepository userRepository;
-    private final SubscriptionRepository subscriptionRepository;
-    private final EventRepository eventRepository;
-    private final NotificationRepository notificationRepository;
+    private final StatsService statsService;
 
+    /**
+     * Served from memory; totals are periodically reconciled with the database, see {@link StatsService}.
+     */
     @GetMapping("/stats")
     public Mono<Map<String, Object>> stats() {
-        return Mono.zip(
-                userRepository.count(),
-                subscriptionRepository.count(),
-                eventRepository.count(),
-                notificationRepository.count()
-        ).map(tuple -> Map.of(
-                "totalUsers", (Object) tuple.getT1(),
-                "totalSubscriptions", tuple.getT2(),
-                "totalEvents", tuple.getT3(),
-                "totalNotifications", tuple.getT4()
-        ));
+        return Mono.fromSupplier(statsService::snapshot);
     }
 }
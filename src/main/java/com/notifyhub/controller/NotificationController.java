@@ -1,11 +1,15 @@
 package com.notifyhub.controller;
 
 import com.notifyhub.dto.NotificationDto;
+import com.notifyhub.repository.NotificationRepositoryCustom.Cursor;
 import com.notifyhub.service.NotificationService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 
 import java.time.LocalDateTime;
@@ -17,23 +21,36 @@ public class NotificationController {
 
     private final NotificationService notificationService;
 
+    @Value("${app.notifications.max-page-size:500}")
+    private int maxPageSize;
+
+    /**
+     * Newest first. The next page is requested with {@code after=<createdAt>,<id>} of the last item received.
+     * {@code size} must be positive; larger values than {@code max-page-size} are cut down to it.
+     */
     @GetMapping
     public Flux<NotificationDto> list(
             @AuthenticationPrincipal Long userId,
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String after,
             @RequestParam(defaultValue = "50") int size,
             @RequestParam(required = false) String status,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
 
-        if (from != null && to != null) {
-            return notificationService.findByUserIdBetween(userId, from, to);
+        if (size < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size must be at least 1");
         }
 
-        if (status != null && !status.isBlank()) {
-            return notificationService.findByUserIdAndStatus(userId, status, page, size);
+        Cursor cursor = null;
+        if (after != null && !after.isBlank()) {
+            try {
+                cursor = Cursor.parse(after);
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+            }
         }
 
-        return notificationService.findByUserId(userId, page, size);
+        return notificationService.findPage(userId, status != null && !status.isBlank() ? status : null,
+                from, to, cursor, Math.min(size, maxPageSize));
     }
 }
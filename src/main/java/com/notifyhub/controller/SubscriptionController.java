@@ -1,11 +1,14 @@
 package com.notifyhub.controller;
 
+import com.notifyhub.dto.ChannelPreferencesDto;
 import com.notifyhub.dto.SubscriptionDto;
+import com.notifyhub.service.ChannelPreferenceService;
 import com.notifyhub.service.SubscriptionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -15,6 +18,7 @@ import reactor.core.publisher.Mono;
 public class SubscriptionController {
 
     private final SubscriptionService subscriptionService;
+    private final ChannelPreferenceService channelPreferenceService;
 
     @GetMapping
     public Flux<SubscriptionDto> list(@AuthenticationPrincipal Long userId) {
@@ -41,4 +45,22 @@ public class SubscriptionController {
                               @PathVariable Long id) {
         return subscriptionService.delete(userId, id);
     }
+
+    @GetMapping("/{id}/channels")
+    public Mono<ChannelPreferencesDto> channels(@AuthenticationPrincipal Long userId,
+                                                @PathVariable Long id) {
+        return channelPreferenceService.forSubscription(userId, id);
+    }
+
+    /**
+     * {@code channels: null} makes the subscription follow the user's channels again.
+     */
+    @PutMapping("/{id}/channels")
+    public Mono<ChannelPreferencesDto> updateChannels(@AuthenticationPrincipal Long userId,
+                                                      @PathVariable Long id,
+                                                      @RequestBody ChannelPreferencesDto dto) {
+        return channelPreferenceService.updateSubscription(userId, id, dto.getChannels())
+                .onErrorMap(IllegalArgumentException.class,
+                        e -> new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage()));
+    }
 }
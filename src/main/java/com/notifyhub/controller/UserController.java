@@ -0,0 +1,34 @@
+package com.notifyhub.controller;
+
+import com.notifyhub.dto.ChannelPreferencesDto;
+import com.notifyhub.service.ChannelPreferenceService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/users/me")
+@RequiredArgsConstructor
+public class UserController {
+
+    private final ChannelPreferenceService channelPreferenceService;
+
+    @GetMapping("/channels")
+    public Mono<ChannelPreferencesDto> channels(@AuthenticationPrincipal Long userId) {
+        return channelPreferenceService.forUser(userId);
+    }
+
+    /**
+     * {@code channels: null} notifies on every channel that can reach the user.
+     */
+    @PutMapping("/channels")
+    public Mono<ChannelPreferencesDto> updateChannels(@AuthenticationPrincipal Long userId,
+                                                      @RequestBody ChannelPreferencesDto dto) {
+        return channelPreferenceService.updateUser(userId, dto.getChannels())
+                .onErrorMap(IllegalArgumentException.class,
+                        e -> new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage()));
+    }
+}
@@ -0,0 +1,111 @@
+package com.notifyhub.delivery;
+
+import com.notifyhub.model.Subscription;
+import com.notifyhub.service.UserProfile;
+import com.notifyhub.service.UserProfileCache;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Decides which channels notifications for a subscriber are created on: always {@code UI}, plus every enabled
+ * {@link DeliveryChannel} that can reach the user and is among the subscription's channels, or the user's when
+ * the subscription has none set. Neither set means every channel.
+ * Both preferences are read from memory: the user's from {@link UserProfileCache}, the subscription's from the
+ * subscription as last loaded by the poll scheduler.
+ * Preferences are stored as comma-separated channel names; {@code UI} is implied and never stored.
+ */
+@Component
+public class ChannelRouter {
+
+    public static final String UI = "UI";
+
+    private final List<DeliveryChannel> channels;
+    private final UserProfileCache userProfileCache;
+    // Distinct stored values are few: sorted subsets of the channel names
+    private final Map<String, Set<String>> parsed = new ConcurrentHashMap<>();
+
+    public ChannelRouter(List<DeliveryChannel> channels, UserProfileCache userProfileCache) {
+        this.channels = List.copyOf(channels);
+        this.userProfileCache = userProfileCache;
+    }
+
+    public Mono<List<String>> channelsFor(Subscription subscription) {
+        return userProfileCache.get(subscription.getUserId())
+                .map(user -> {
+                    Set<String> wanted = subscription.getChannels() != null
+                            ? parsed.computeIfAbsent(subscription.getChannels(), ChannelRouter::parse)
+                            : user.channels();
+                    List<String> result = new ArrayList<>(channels.size() + 1);
+                    result.add(UI);
+                    for (DeliveryChannel channel : channels) {
+                        if (channel.isEnabled()
+                                && (wanted == null || wanted.contains(channel.name()))
+                                && channel.canReach(user)) {
+                            result.add(channel.name());
+                        }
+                    }
+                    return result;
+                })
+                .defaultIfEmpty(List.of(UI));
+    }
+
+    /**
+     * @return the external channels the user could receive on, whatever their preferences
+     */
+    public List<String> available(UserProfile user) {
+        return channels.stream()
+                .filter(channel -> channel.isEnabled() && channel.canReach(user))
+                .map(DeliveryChannel::name)
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * Checks channel names given by a user and turns them into the stored form.
+     *
+     * @return null for null (no preference)
+     * @throws IllegalArgumentException for a name that is not a channel
+     */
+    public String toStored(Collection<String> names) {
+        if (names == null) {
+            return null;
+        }
+        Set<String> known = channels.stream().map(DeliveryChannel::name).collect(Collectors.toSet());
+        Set<String> result = new TreeSet<>();
+        for (String name : names) {
+            String channel = name == null ? "" : name.trim().toUpperCase(Locale.ROOT);
+            if (channel.equals(UI)) {
+                continue;
+            }
+            if (!known.contains(channel)) {
+                throw new IllegalArgumentException("Unknown channel '" + name + "', expected one of " + new TreeSet<>(known));
+            }
+            result.add(channel);
+        }
+        return String.join(",", result);
+    }
+
+    /**
+     * @return null for null (no preference), otherwise the channel names
+     */
+    public static Set<String> parse(String stored) {
+        if (stored == null) {
+            return null;
+        }
+        return Arrays.stream(stored.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+}
@@ -0,0 +1,33 @@
+package com.notifyhub.delivery;
+
+import com.notifyhub.model.Event;
+import com.notifyhub.service.UserProfile;
+import reactor.core.publisher.Mono;
+
+/**
+ * An external channel notifications are delivered on. Every implementing bean gets a lane in
+ * {@link DeliveryOutbox} ({@code app.delivery.outbox.concurrency.<name>}) and is offered to users by
+ * {@link ChannelRouter}; fan-out creates rows only for channels that are enabled and can reach the recipient.
+ */
+public interface DeliveryChannel {
+
+    /**
+     * @return the value stored in {@code notifications.channel}, upper case (e.g. TELEGRAM)
+     */
+    String name();
+
+    /**
+     * @return whether the channel is switched on in this deployment
+     */
+    boolean isEnabled();
+
+    /**
+     * @return whether the user has an address on this channel
+     */
+    boolean canReach(UserProfile user);
+
+    /**
+     * Delivers one notification, one attempt; errors propagate so the outbox can retry.
+     */
+    Mono<Void> send(UserProfile user, Event event);
+}
@@ -0,0 +1,245 @@
+package com.notifyhub.delivery;
+
+import com.notifyhub.model.Event;
+import com.notifyhub.model.Notification;
+import com.notifyhub.repository.EventRepository;
+import com.notifyhub.repository.NotificationRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Durable delivery outbox.
+ * Notifications for external channels in status CREATED/QUEUED are the queue: a pump claims due rows
+ * in batches with {@code FOR UPDATE SKIP LOCKED} and hands them to one lane per {@link DeliveryChannel},
+ * each drained by a bounded number of concurrent workers. Attempts and the next retry time live in the row,
+ * so pending retries survive restarts and several instances can drain the same table.
+ * Outcomes are written through {@link DeliveryStatusWriter}, batched across deliveries.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DeliveryOutbox {
+
+    private final DeliveryService deliveryService;
+    private final NotificationRepository notificationRepository;
+    private final EventRepository eventRepository;
+    private final DeliveryStatusWriter statusWriter;
+    private final List<DeliveryChannel> channels;
+    private final Environment environment;
+
+    private final Map<String, Sinks.Many<Job>> lanes = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Disposable.Composite subscriptions = Disposables.composite();
+
+    @Value("${app.delivery.outbox.poll-interval-ms:1000}")
+    private long pollIntervalMs;
+
+    @Value("${app.delivery.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.delivery.outbox.max-in-flight:200}")
+    private int maxInFlight;
+
+    @Value("${app.delivery.outbox.lease-seconds:300}")
+    private int leaseSeconds;
+
+    @Value("${app.delivery.outbox.max-attempts:4}")
+    private int maxAttempts;
+
+    @Value("${app.delivery.outbox.backoff-seconds:2}")
+    private long backoffSeconds;
+
+    @Value("${app.delivery.outbox.max-backoff-seconds:600}")
+    private long maxBackoffSeconds;
+
+    @Value("${app.delivery.outbox.default-concurrency:100}")
+    private int defaultConcurrency;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        channels.forEach(channel -> openLane(channel.name(), environment.getProperty(
+                "app.delivery.outbox.concurrency." + channel.name().toLowerCase(Locale.ROOT), Integer.class, defaultConcurrency)));
+
+        subscriptions.add(Flux.interval(Duration.ofMillis(pollIntervalMs))
+                .onBackpressureDrop()
+                .concatMap(tick -> drain()
+                        .onErrorResume(e -> {
+                            log.error("Error in delivery outbox cycle: {}", e.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe());
+
+        log.info("Delivery outbox started: batch size = {}, lanes = {}", batchSize, lanes.keySet());
+    }
+
+    @PreDestroy
+    public void stop() {
+        subscriptions.dispose();
+        lanes.values().forEach(Sinks.Many::tryEmitComplete);
+    }
+
+    private void openLane(String channel, int concurrency) {
+        Sinks.Many<Job> lane = Sinks.many().unicast().onBackpressureBuffer();
+        subscriptions.add(lane.asFlux()
+                .flatMap(this::process, concurrency)
+                .subscribe());
+        lanes.put(channel, lane);
+    }
+
+    /**
+     * Claims batches until the queue is empty or the in-flight limit is reached.
+     */
+    private Mono<Void> drain() {
+        return claimAndDispatch()
+                .expand(claimed -> claimed == batchSize ? claimAndDispatch() : Mono.empty())
+                .then();
+    }
+
+    private Mono<Integer> claimAndDispatch() {
+        int capacity = Math.min(batchSize, maxInFlight - inFlight.get());
+        if (capacity <= 0) {
+            return Mono.empty();
+        }
+
+        return notificationRepository.claimDue(capacity, leaseSeconds)
+                .collectList()
+                .flatMap(batch -> {
+                    if (batch.isEmpty()) {
+                        return Mono.just(0);
+                    }
+                    Set<UUID> eventIds = batch.stream()
+                            .map(Notification::getEventId)
+                            .filter(Objects::nonNull)
+                            .collect(Collectors.toSet());
+                    return findEvents(batch, eventIds)
+                            .collectMap(Event::getId)
+                            .map(events -> {
+                                dispatch(batch, events);
+                                return batch.size();
+                            });
+                });
+    }
+
+    /**
+     * Searches only the event partitions from the oldest event of the batch on, when every row knows its event's time.
+     */
+    private Flux<Event> findEvents(List<Notification> batch, Set<UUID> eventIds) {
+        boolean allKnown = batch.stream().allMatch(n -> n.getEventId() == null || n.getEventCreatedAt() != null);
+        Optional<LocalDateTime> since = batch.stream()
+                .map(Notification::getEventCreatedAt)
+                .filter(Objects::nonNull)
+                .min(Comparator.naturalOrder());
+        return allKnown && since.isPresent()
+                ? eventRepository.findAllByIdSince(eventIds, since.get())
+                : eventRepository.findAllById(eventIds);
+    }
+
+    private void dispatch(List<Notification> batch, Map<UUID, Event> events) {
+        log.debug("Claimed {} notifications for delivery", batch.size());
+
+        for (Notification notification : batch) {
+            inFlight.incrementAndGet();
+            Sinks.Many<Job> lane = lanes.get(notification.getChannel());
+            Event event = events.get(notification.getEventId());
+
+            if (lane == null || event == null) {
+                String error = lane == null
+                        ? "No delivery lane for channel " + notification.getChannel()
+                        : "Event not found";
+                statusWriter.failed(notification.getId(), error)
+                        .doFinally(signal -> inFlight.decrementAndGet())
+                        .subscribe(null, e -> log.error("Failed to mark notification {} failed: {}", notification.getId(), e.getMessage()));
+                continue;
+            }
+
+            // Only the pump thread emits, so emissions are serialized
+            Sinks.EmitResult result = lane.tryEmitNext(new Job(notification, withPriority(event, notification.getPriority())));
+            if (result.isFailure()) {
+                // Lease expiry makes the row due again, nothing else to do
+                inFlight.decrementAndGet();
+                log.warn("Failed to enqueue notification {} on {} lane: {}", notification.getId(), notification.getChannel(), result);
+            }
+        }
+    }
+
+    private Mono<Void> process(Job job) {
+        Notification notification = job.notification();
+
+        return deliveryService.deliver(notification, job.event())
+                .then(Mono.just(Optional.<Throwable>empty()))
+                .onErrorResume(e -> Mono.just(Optional.of(e)))
+                .flatMap(error -> error.isPresent()
+                        ? reschedule(notification, error.get())
+                        : statusWriter.sent(notification.getId()))
+                .onErrorResume(e -> {
+                    log.error("Failed to record delivery outcome of notification {}: {}", notification.getId(), e.getMessage());
+                    return Mono.empty();
+                })
+                .doFinally(signal -> inFlight.decrementAndGet());
+    }
+
+    private Mono<Void> reschedule(Notification notification, Throwable error) {
+        if (error instanceof RecipientNotFoundException) {
+            log.warn("Dropping {} notification {}: {}", notification.getChannel(), notification.getId(), error.getMessage());
+            return statusWriter.failed(notification.getId(), error.getMessage());
+        }
+
+        int attempt = notification.getAttempts() + 1;
+
+        if (attempt >= maxAttempts) {
+            log.error("{} delivery failed for notification {} after {} attempts: {}",
+                    notification.getChannel(), notification.getId(), attempt, error.getMessage());
+            return statusWriter.failed(notification.getId(), error.getMessage());
+        }
+
+        long delay = Math.min(maxBackoffSeconds, backoffSeconds << Math.min(attempt - 1, 20));
+        log.warn("Retrying {} delivery of notification {} in {}s, attempt {}",
+                notification.getChannel(), notification.getId(), delay, attempt + 1);
+        return statusWriter.retry(notification.getId(), error.getMessage(), LocalDateTime.now().plusSeconds(delay));
+    }
+
+    /**
+     * Rules may override the event priority per recipient; the notification row keeps the effective one.
+     */
+    private Event withPriority(Event event, String priority) {
+        if (priority == null || priority.equals(event.getPriority())) {
+            return event;
+        }
+        return Event.builder()
+                .id(event.getId())
+                .sourceType(event.getSourceType())
+                .externalId(event.getExternalId())
+                .title(event.getTitle())
+                .payloadJson(event.getPayloadJson())
+                .priority(priority)
+                .createdAt(event.getCreatedAt())
+                .build();
+    }
+
+    private record Job(Notification notification, Event event) {}
+}
@@ -2,72 +2,94 @@ package com.notifyhub.delivery;
 
 import com.notifyhub.model.Event;
 import com.notifyhub.model.Notification;
-import com.notifyhub.model.User;
-import com.notifyhub.repository.UserRepository;
-import com.notifyhub.service.NotificationService;
-import lombok.RequiredArgsConstructor;
+import com.notifyhub.service.UserProfileCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
-import reactor.util.retry.Retry;
 
 import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
- * Orchestrates delivery of notifications to external channels (Telegram, Email).
- * Uses retry with backoff for resilience.
+ * Sends a single notification to its external {@link DeliveryChannel}.
+ * Errors are propagated to the caller; retry scheduling and status bookkeeping
+ * live in {@link DeliveryOutbox}.
+ * Every attempt is timed as {@code notifyhub.delivery} by channel and outcome; successful ones also record
+ * {@code notifyhub.delivery.event.age}, the time from event creation to delivery. A deleted recipient fails
+ * with {@link RecipientNotFoundException} and is counted as {@code skipped}. Only channels with an
+ * outbox lane get here, so the channel tag stays bounded.
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class DeliveryService {
 
-    private final TelegramDeliveryChannel telegramChannel;
-    private final EmailDeliveryChannel emailChannel;
-    private final NotificationService notificationService;
-    private final UserRepository userRepository;
+    private final Map<String, DeliveryChannel> channels;
+    private final UserProfileCache userProfileCache;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public DeliveryService(List<DeliveryChannel> channels,
+                           UserProfileCache userProfileCache,
+                           MeterRegistry meterRegistry) {
+        this.channels = channels.stream()
+                .collect(Collectors.toMap(DeliveryChannel::name, Function.identity()));
+        this.userProfileCache = userProfileCache;
+        this.meterRegistry = meterRegistry;
+    }
 
     /**
-     * Deliver a notification via the specified channel with retry logic.
+     * Deliver a notification via its channel, one attempt.
      */
     public Mono<Void> deliver(Notification notification, Event event) {
-        return userRepository.findById(notification.getUserId())
-                .flatMap(user -> {
-                    String channel = notification.getChannel();
-                    return switch (channel) {
-                        case "TELEGRAM" -> deliverTelegram(notification, event, user);
-                        case "EMAIL" -> deliverEmail(notification, event, user);
-                        default -> {
+        String channel = notification.getChannel();
+
+        return Mono.defer(() -> {
+            long started = System.nanoTime();
+            return userProfileCache.get(notification.getUserId())
+                    .switchIfEmpty(Mono.error(() -> new RecipientNotFoundException(notification.getUserId())))
+                    .flatMap(user -> {
+                        DeliveryChannel deliveryChannel = channels.get(channel);
+                        if (deliveryChannel == null) {
                             log.debug("No external delivery needed for channel: {}", channel);
-                            yield Mono.empty();
+                            return Mono.<Void>empty();
+                        }
+                        return deliveryChannel.send(user, event);
+                    })
+                    .doOnSuccess(v -> {
+                        attemptTimer(channel, "success").record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                        if (event.getCreatedAt() != null) {
+                            ageTimer(channel).record(Duration.between(event.getCreatedAt(), LocalDateTime.now()));
                         }
-                    };
-                });
+                    })
+                    .doOnError(e -> attemptTimer(channel, e instanceof RecipientNotFoundException ? "skipped" : "failure")
+                            .record(System.nanoTime() - started, TimeUnit.NANOSECONDS));
+        });
     }
 
-    private Mono<Void> deliverTelegram(Notification notification, Event event, User user) {
-        return notificationService.updateStatus(notification.getId(), "QUEUED", null)
-                .then(telegramChannel.send(user, event))
-                .retryWhen(Retry.backoff(3, Duration.ofSeconds(2))
-                        .doBeforeRetry(signal -> log.warn("Retrying Telegram delivery, attempt {}", signal.totalRetries() + 1)))
-                .then(notificationService.updateStatus(notification.getId(), "SENT", null))
-                .then()
-                .onErrorResume(e -> {
-                    log.error("Telegram delivery failed for notification {}: {}", notification.getId(), e.getMessage());
-                    return notificationService.updateStatus(notification.getId(), "FAILED", e.getMessage()).then();
-                });
+    private Timer attemptTimer(String channel, String outcome) {
+        return timers.computeIfAbsent(channel + ":" + outcome, key -> Timer.builder("notifyhub.delivery")
+                .description("Delivery attempts to external channels")
+                .tag("channel", channel)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofMinutes(5))
+                .register(meterRegistry));
     }
 
-    private Mono<Void> deliverEmail(Notification notification, Event event, User user) {
-        return notificationService.updateStatus(notification.getId(), "QUEUED", null)
-                .then(emailChannel.send(user, event))
-                .retryWhen(Retry.backoff(3, Duration.ofSeconds(2))
-                        .doBeforeRetry(signal -> log.warn("Retrying Email delivery, attempt {}", signal.totalRetries() + 1)))
-                .then(notificationService.updateStatus(notification.getId(), "SENT", null))
-                .then()
-                .onErrorResume(e -> {
-                    log.error("Email delivery failed for notification {}: {}", notification.getId(), e.getMessage());
-                    return notificationService.updateStatus(notification.getId(), "FAILED", e.getMessage()).then();
-                });
+    private Timer ageTimer(String channel) {
+        return timers.computeIfAbsent(channel + ":age", key -> Timer.builder("notifyhub.delivery.event.age")
+                .description("Time from event creation to successful delivery")
+                .tag("channel", channel)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofHours(1))
+                .register(meterRegistry));
     }
 }
@@ -0,0 +1,145 @@
+package com.notifyhub.delivery;
+
+import com.notifyhub.repository.NotificationRepository;
+import com.notifyhub.service.StatsService;
+import com.notifyhub.repository.NotificationRepositoryCustom.StatusTransition;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind buffer for delivery outcomes.
+ * Transitions submitted by the outbox workers are flushed together as one
+ * {@code UPDATE ... FROM (VALUES ...)} per flush interval (or earlier, once a batch is full),
+ * so a delivery costs a share of one write instead of a read and a full-row save.
+ * Should the pipeline ever terminate with an error, the transitions it held are failed back to their
+ * submitters, which leave the rows to the outbox lease, and a new pipeline takes over.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DeliveryStatusWriter {
+
+    private final NotificationRepository notificationRepository;
+    private final StatsService statsService;
+
+    private final Object lock = new Object();
+    // Submitted and not yet written, so they can be failed if the pipeline dies
+    private final Set<Pending> unflushed = ConcurrentHashMap.newKeySet();
+    private Sinks.Many<Pending> pending;
+    private Disposable flusher;
+    private boolean stopping;
+
+    @Value("${app.delivery.status.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    @Value("${app.delivery.status.max-batch:500}")
+    private int maxBatch;
+
+    @PostConstruct
+    public void start() {
+        synchronized (lock) {
+            open();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        synchronized (lock) {
+            stopping = true;
+            // Completing the sink flushes whatever is still buffered
+            pending.tryEmitComplete();
+        }
+    }
+
+    public Mono<Void> sent(Long notificationId) {
+        return submit(new StatusTransition(notificationId, "SENT", null, null));
+    }
+
+    public Mono<Void> retry(Long notificationId, String error, LocalDateTime nextAttemptAt) {
+        return submit(new StatusTransition(notificationId, "QUEUED", error, nextAttemptAt));
+    }
+
+    public Mono<Void> failed(Long notificationId, String error) {
+        return submit(new StatusTransition(notificationId, "FAILED", error, null));
+    }
+
+    /**
+     * @return completes once the batch containing the transition has been written
+     */
+    private Mono<Void> submit(StatusTransition transition) {
+        return Mono.defer(() -> {
+            statsService.deliveryRecorded(transition.status());
+            Sinks.Empty<Void> done = Sinks.empty();
+            Pending submitted = new Pending(transition, done);
+            Sinks.EmitResult result;
+            synchronized (lock) {
+                result = pending.tryEmitNext(submitted);
+                if (result.isSuccess()) {
+                    unflushed.add(submitted);
+                }
+            }
+            if (result.isFailure()) {
+                return Mono.error(new IllegalStateException("Status writer rejected transition: " + result));
+            }
+            return done.asMono();
+        });
+    }
+
+    private void open() {
+        Sinks.Many<Pending> sink = Sinks.many().unicast().onBackpressureBuffer();
+        pending = sink;
+        flusher = sink.asFlux()
+                // Fair backpressure: a flush outlasting the interval must not overflow the linger timer
+                .bufferTimeout(maxBatch, Duration.ofMillis(flushIntervalMs), true)
+                .concatMap(this::flush)
+                .subscribe(null, this::restart);
+    }
+
+    private void restart(Throwable error) {
+        log.error("Delivery status pipeline terminated, restarting: {}", error.getMessage());
+        List<Pending> lost;
+        synchronized (lock) {
+            lost = List.copyOf(unflushed);
+            unflushed.clear();
+            if (!stopping) {
+                open();
+            }
+        }
+        lost.forEach(p -> p.done().tryEmitError(error));
+    }
+
+    private Mono<Void> flush(List<Pending> batch) {
+        List<StatusTransition> transitions = batch.stream().map(Pending::transition).toList();
+
+        return notificationRepository.applyTransitions(transitions)
+                .doOnNext(updated -> log.debug("Flushed {} delivery status transitions", updated))
+                .doOnSuccess(updated -> batch.forEach(p -> {
+                    unflushed.remove(p);
+                    p.done().tryEmitEmpty();
+                }))
+                .doOnError(e -> {
+                    log.error("Failed to flush {} delivery status transitions: {}", batch.size(), e.getMessage());
+                    batch.forEach(p -> {
+                        unflushed.remove(p);
+                        p.done().tryEmitError(e);
+                    });
+                })
+                .onErrorResume(e -> Mono.empty())
+                .then();
+    }
+
+    private record Pending(StatusTransition transition, Sinks.Empty<Void> done) {}
+}
@@ -1,27 +1,27 @@
 package com.notifyhub.delivery;
 
 import com.notifyhub.model.Event;
-import com.notifyhub.model.User;
+import com.notifyhub.service.UserProfile;
+import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
 /**
  * Email delivery channel.
- * Uses JavaMailSender (blocking) wrapped in boundedElastic scheduler
- * to maintain the reactive pipeline.
+ * Builds the message from the shared {@link MessageRenderer} output and hands it to {@link EmailDispatcher},
+ * which sends it over a pooled SMTP connection.
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class EmailDeliveryChannel {
+public class EmailDeliveryChannel implements DeliveryChannel {
 
-    private final JavaMailSender mailSender;
+    private final EmailDispatcher emailDispatcher;
+    private final MessageRenderer renderer;
 
     @Value("${app.mail.enabled:false}")
     private boolean enabled;
@@ -29,34 +29,44 @@ public class EmailDeliveryChannel {
     @Value("${app.mail.from:noreply@notifyhub.com}")
     private String fromAddress;
 
-    public Mono<Void> send(User user, Event event) {
+    @Override
+    public String name() {
+        return "EMAIL";
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public boolean canReach(UserProfile user) {
+        return user.email() != null && !user.email().isBlank();
+    }
+
+    @Override
+    public Mono<Void> send(UserProfile user, Event event) {
         if (!enabled) {
             log.debug("Email delivery disabled, skipping");
             return Mono.empty();
         }
 
-        if (user.getEmail() == null || user.getEmail().isBlank()) {
-            log.warn("User {} has no email", user.getUsername());
+        if (!canReach(user)) {
+            log.warn("User {} has no email", user.username());
             return Mono.empty();
         }
 
         return Mono.fromCallable(() -> {
-                    SimpleMailMessage message = new SimpleMailMessage();
-                    message.setFrom(fromAddress);
-                    message.setTo(user.getEmail());
-                    message.setSubject("[NotifyHub] " + event.getTitle());
-                    message.setText(String.format(
-                            "Event: %s\nSource: %s\nPriority: %s\n\nDetails:\n%s",
-                            event.getTitle(),
-                            event.getSourceType(),
-                            event.getPriority(),
-                            event.getPayloadJson() != null ? event.getPayloadJson() : "N/A"
-                    ));
-                    mailSender.send(message);
-                    log.info("Email sent to {}", user.getEmail());
-                    return true;
+                    MessageRenderer.RenderedMessage rendered = renderer.email(event);
+                    MimeMessage message = emailDispatcher.createMessage();
+                    MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+                    helper.setFrom(fromAddress);
+                    helper.setTo(user.email());
+                    helper.setSubject(rendered.subject());
+                    helper.setText(rendered.text());
+                    return message;
                 })
-                .subscribeOn(Schedulers.boundedElastic())
-                .then();
+                .flatMap(emailDispatcher::submit)
+                .doOnSuccess(v -> log.info("Email sent to {}", user.email()));
     }
 }
@@ -0,0 +1,206 @@
+package com.notifyhub.delivery;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.concurrent.Queues;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends email over a bounded pool of long-lived SMTP connections.
+ * Submitted messages are grouped into batches ({@code batch-size} or {@code max-linger-ms}); each batch
+ * is sent by one of {@code pool-size} dedicated threads over one connection, which stays open for the
+ * next batch instead of a connect and handshake per message. The submit queue is bounded: when it is
+ * full, submissions fail right away and the outbox retries them later.
+ */
+@Slf4j
+@Component
+public class EmailDispatcher {
+
+    private final JavaMailSenderImpl mailSender;
+    private final Counter sent;
+    private final Counter failed;
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private Sinks.Many<Pending> pending;
+    private BlockingQueue<Transport> transports;
+    private ExecutorService executor;
+    private Scheduler scheduler;
+    private Disposable sender;
+
+    @Value("${app.mail.dispatcher.pool-size:4}")
+    private int poolSize;
+
+    @Value("${app.mail.dispatcher.batch-size:50}")
+    private int batchSize;
+
+    @Value("${app.mail.dispatcher.max-linger-ms:200}")
+    private long maxLingerMs;
+
+    @Value("${app.mail.dispatcher.queue-capacity:1024}")
+    private int queueCapacity;
+
+    public EmailDispatcher(JavaMailSenderImpl mailSender, MeterRegistry meterRegistry) {
+        this.mailSender = mailSender;
+        this.sent = Counter.builder("notifyhub.mail.messages").tag("result", "sent").register(meterRegistry);
+        this.failed = Counter.builder("notifyhub.mail.messages").tag("result", "failed").register(meterRegistry);
+
+        Gauge.builder("notifyhub.mail.queued", queued, AtomicInteger::get)
+                .description("Emails waiting for an SMTP connection")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        pending = Sinks.many().unicast().onBackpressureBuffer(Queues.<Pending>get(queueCapacity).get());
+        transports = new ArrayBlockingQueue<>(poolSize);
+        AtomicInteger threads = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(poolSize, r -> {
+            Thread thread = new Thread(r, "smtp-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler = Schedulers.fromExecutorService(executor, "smtp");
+
+        sender = pending.asFlux()
+                // Fair backpressure: with every connection busy, the linger timer must wait instead of overflowing
+                .bufferTimeout(batchSize, Duration.ofMillis(maxLingerMs), true)
+                .flatMap(batch -> Mono.fromRunnable(() -> sendBatch(batch)).subscribeOn(scheduler), poolSize)
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        pending.tryEmitComplete();
+        sender.dispose();
+        executor.shutdown();
+        Transport transport;
+        while ((transport = transports.poll()) != null) {
+            close(transport);
+        }
+    }
+
+    public MimeMessage createMessage() {
+        return mailSender.createMimeMessage();
+    }
+
+    /**
+     * @return completes once the message was handed to the SMTP server
+     */
+    public Mono<Void> submit(MimeMessage message) {
+        return Mono.defer(() -> {
+            Sinks.Empty<Void> done = Sinks.empty();
+            Sinks.EmitResult result;
+            synchronized (pending) {
+                result = pending.tryEmitNext(new Pending(message, done));
+            }
+            if (result.isFailure()) {
+                return Mono.error(new IllegalStateException("Email queue rejected message: " + result));
+            }
+            queued.incrementAndGet();
+            return done.asMono();
+        });
+    }
+
+    private void sendBatch(List<Pending> batch) {
+        queued.addAndGet(-batch.size());
+        Transport transport = null;
+        Exception aborted = null;
+        try {
+            transport = acquire();
+            for (Pending p : batch) {
+                try {
+                    if (!transport.isConnected()) {
+                        transport = reconnect(transport);
+                    }
+                    MimeMessage message = p.message();
+                    if (message.getSentDate() == null) {
+                        message.setSentDate(new Date());
+                    }
+                    message.saveChanges();
+                    transport.sendMessage(message, message.getAllRecipients());
+                    sent.increment();
+                    p.done().tryEmitEmpty();
+                } catch (MessagingException | RuntimeException e) {
+                    failed.increment();
+                    p.done().tryEmitError(e);
+                }
+            }
+        } catch (MessagingException e) {
+            // No connection at all: every message of the batch goes back to the outbox
+            log.error("Failed to connect to SMTP server: {}", e.getMessage());
+            aborted = e;
+        } catch (RuntimeException e) {
+            log.error("Email batch of {} messages aborted: {}", batch.size(), e.getMessage());
+            aborted = e;
+        } finally {
+            // Whatever was not completed above must not leave its delivery waiting forever
+            Exception cause = aborted != null ? aborted : new IllegalStateException("Email batch aborted");
+            for (Pending p : batch) {
+                if (p.done().tryEmitError(cause).isSuccess()) {
+                    failed.increment();
+                }
+            }
+            if (transport != null && !transports.offer(transport)) {
+                close(transport);
+            }
+        }
+    }
+
+    /**
+     * An idle pooled connection, or a new one while the pool is not full.
+     */
+    private Transport acquire() throws MessagingException {
+        Transport transport = transports.poll();
+        if (transport != null && transport.isConnected()) {
+            return transport;
+        }
+        return reconnect(transport);
+    }
+
+    private Transport reconnect(Transport stale) throws MessagingException {
+        if (stale != null) {
+            close(stale);
+        }
+        Transport transport = mailSender.getSession().getTransport(
+                mailSender.getProtocol() != null ? mailSender.getProtocol() : "smtp");
+        String username = mailSender.getUsername();
+        transport.connect(mailSender.getHost(), mailSender.getPort(),
+                username != null && !username.isEmpty() ? username : null,
+                username != null && !username.isEmpty() ? mailSender.getPassword() : null);
+        log.debug("Opened SMTP connection to {}:{}", mailSender.getHost(), mailSender.getPort());
+        return transport;
+    }
+
+    private static void close(Transport transport) {
+        try {
+            transport.close();
+        } catch (MessagingException ignored) {
+            // Connection is gone either way
+        }
+    }
+
+    private record Pending(MimeMessage message, Sinks.Empty<Void> done) {}
+}
@@ -0,0 +1,112 @@
+package com.notifyhub.delivery;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.notifyhub.model.Event;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Renders event messages once per (event, priority, channel, template version) and shares the result
+ * between all recipients of the event; the output depends only on the {@link Event}. The priority is part of
+ * the key because the outbox gives each recipient the priority of their own rule.
+ * Templates are compiled at startup from {@code app.delivery.templates.*}; the version is derived from
+ * the template text, so a changed template never serves a stale rendering.
+ * Statistics are exported as {@code cache.*} meters with {@code cache=renderedMessages}.
+ */
+@Component
+public class MessageRenderer {
+
+    private static final String TELEGRAM = "TELEGRAM";
+    private static final String EMAIL = "EMAIL";
+
+    private static final String DEFAULT_TELEGRAM_TEXT =
+            "<b>{title_html}</b> [{priority}]\n\n{payload_short}\n\n<i>Source: {source} | Priority: {priority}</i>";
+    private static final String DEFAULT_EMAIL_SUBJECT = "[NotifyHub] {title}";
+    private static final String DEFAULT_EMAIL_TEXT =
+            "Event: {title}\nSource: {source}\nPriority: {priority}\n\nDetails:\n{payload}";
+
+    private static final int PAYLOAD_SHORT_CHARS = 500;
+
+    private static final Map<String, Function<Event, String>> FIELDS = Map.of(
+            "title", e -> Objects.toString(e.getTitle(), ""),
+            "title_html", e -> escapeHtml(e.getTitle()),
+            "source", e -> Objects.toString(e.getSourceType(), ""),
+            "priority", e -> Objects.toString(e.getPriority(), ""),
+            "payload", e -> e.getPayloadJson() != null ? e.getPayloadJson() : "N/A",
+            "payload_short", e -> truncate(e.getPayloadJson(), PAYLOAD_SHORT_CHARS));
+
+    private final MessageTemplate<Event> telegramText;
+    private final MessageTemplate<Event> emailSubject;
+    private final MessageTemplate<Event> emailText;
+    private final int telegramVersion;
+    private final int emailVersion;
+    private final Cache<RenderKey, RenderedMessage> cache;
+
+    public MessageRenderer(Environment environment,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.delivery.render-cache.max-size:10000}") long maxSize,
+                           @Value("${app.delivery.render-cache.ttl-seconds:600}") long ttlSeconds) {
+        this.telegramText = MessageTemplate.compile(
+                environment.getProperty("app.delivery.templates.telegram.text", DEFAULT_TELEGRAM_TEXT), FIELDS);
+        this.emailSubject = MessageTemplate.compile(
+                environment.getProperty("app.delivery.templates.email.subject", DEFAULT_EMAIL_SUBJECT), FIELDS);
+        this.emailText = MessageTemplate.compile(
+                environment.getProperty("app.delivery.templates.email.text", DEFAULT_EMAIL_TEXT), FIELDS);
+        this.telegramVersion = telegramText.source().hashCode();
+        this.emailVersion = Objects.hash(emailSubject.source(), emailText.source());
+
+        this.cache = CaffeineCacheMetrics.monitor(meterRegistry,
+                Caffeine.newBuilder()
+                        .maximumSize(maxSize)
+                        .expireAfterAccess(Duration.ofSeconds(ttlSeconds))
+                        .recordStats()
+                        .build(),
+                "renderedMessages");
+    }
+
+    public RenderedMessage telegram(Event event) {
+        return render(event, TELEGRAM, telegramVersion,
+                e -> new RenderedMessage(null, telegramText.render(e)));
+    }
+
+    public RenderedMessage email(Event event) {
+        return render(event, EMAIL, emailVersion,
+                e -> new RenderedMessage(emailSubject.render(e), emailText.render(e)));
+    }
+
+    private RenderedMessage render(Event event, String channel, int version,
+                                   Function<Event, RenderedMessage> renderer) {
+        if (event.getId() == null) {
+            return renderer.apply(event);
+        }
+        // Concurrent recipients of the same event wait for one rendering
+        return cache.get(new RenderKey(event.getId(), event.getPriority(), channel, version), key -> renderer.apply(event));
+    }
+
+    private static String escapeHtml(String text) {
+        if (text == null) return "";
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    private static String truncate(String text, int max) {
+        if (text == null) return "";
+        return text.length() > max ? text.substring(0, max) + "..." : text;
+    }
+
+    private record RenderKey(UUID eventId, String priority, String channel, int templateVersion) {}
+
+    /**
+     * @param subject null for channels without one
+     */
+    public record RenderedMessage(String subject, String text) {}
+}
@@ -0,0 +1,71 @@
+package com.notifyhub.delivery;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Message template with {@code {name}} placeholders, split into literal and placeholder parts once
+ * so rendering is a single pass of appends. Unknown placeholders fail at compile time, not per message.
+ */
+final class MessageTemplate<T> {
+
+    private final String source;
+    private final List<Part<T>> parts;
+    private final int literalLength;
+
+    private MessageTemplate(String source, List<Part<T>> parts, int literalLength) {
+        this.source = source;
+        this.parts = parts;
+        this.literalLength = literalLength;
+    }
+
+    /**
+     * @param fields values a placeholder may refer to, by name
+     */
+    static <T> MessageTemplate<T> compile(String source, Map<String, Function<T, String>> fields) {
+        List<Part<T>> parts = new ArrayList<>();
+        int literalLength = 0;
+        int pos = 0;
+        while (pos < source.length()) {
+            int open = source.indexOf('{', pos);
+            int close = open < 0 ? -1 : source.indexOf('}', open);
+            if (close < 0) {
+                parts.add(new Part<>(source.substring(pos), null));
+                literalLength += source.length() - pos;
+                break;
+            }
+            if (open > pos) {
+                parts.add(new Part<>(source.substring(pos, open), null));
+                literalLength += open - pos;
+            }
+            String name = source.substring(open + 1, close);
+            Function<T, String> field = fields.get(name);
+            if (field == null) {
+                throw new IllegalArgumentException("Unknown placeholder {" + name + "} in template: " + source);
+            }
+            parts.add(new Part<>(null, field));
+            pos = close + 1;
+        }
+        return new MessageTemplate<>(source, List.copyOf(parts), literalLength);
+    }
+
+    String render(T value) {
+        StringBuilder out = new StringBuilder(literalLength + 64 * parts.size());
+        for (Part<T> part : parts) {
+            if (part.literal() != null) {
+                out.append(part.literal());
+            } else {
+                out.append(part.field().apply(value));
+            }
+        }
+        return out.toString();
+    }
+
+    String source() {
+        return source;
+    }
+
+    private record Part<T>(String literal, Function<T, String> field) {}
+}
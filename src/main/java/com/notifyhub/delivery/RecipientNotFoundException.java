@@ -0,0 +1,12 @@
+package com.notifyhub.delivery;
+
+/**
+ * Raised by {@link DeliveryService} when the notification's user no longer exists.
+ * Retrying cannot help, so {@link DeliveryOutbox} marks the notification failed right away.
+ */
+public class RecipientNotFoundException extends RuntimeException {
+
+    public RecipientNotFoundException(Long userId) {
+        super("Recipient " + userId + " not found");
+    }
+}
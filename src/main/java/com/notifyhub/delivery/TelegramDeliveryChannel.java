@@ -1,69 +1,56 @@
 package com.notifyhub.delivery;
 
 import com.notifyhub.model.Event;
-import com.notifyhub.model.User;
+import com.notifyhub.service.UserProfile;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
+/**
+ * Telegram delivery channel. The message text comes from {@link MessageRenderer}; pacing and digests
+ * are left to {@link TelegramDispatcher}.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class TelegramDeliveryChannel {
+public class TelegramDeliveryChannel implements DeliveryChannel {
 
-    private final WebClient telegramWebClient;
-
-    @Value("${app.telegram.bot-token:}")
-    private String botToken;
+    private final TelegramDispatcher dispatcher;
+    private final MessageRenderer renderer;
 
     @Value("${app.telegram.enabled:false}")
     private boolean enabled;
 
-    public Mono<Void> send(User user, Event event) {
+    @Override
+    public String name() {
+        return "TELEGRAM";
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public boolean canReach(UserProfile user) {
+        return user.telegramChatId() != null && !user.telegramChatId().isBlank();
+    }
+
+    @Override
+    public Mono<Void> send(UserProfile user, Event event) {
         if (!enabled) {
             log.debug("Telegram delivery disabled, skipping");
             return Mono.empty();
         }
 
-        if (user.getTelegramChatId() == null || user.getTelegramChatId().isBlank()) {
-            log.warn("User {} has no Telegram chat ID configured", user.getUsername());
+        if (!canReach(user)) {
+            log.warn("User {} has no Telegram chat ID configured", user.username());
             return Mono.empty();
         }
 
-        String message = formatMessage(event);
-
-        return telegramWebClient.post()
-                .uri("/bot{token}/sendMessage", botToken)
-                .bodyValue(new TelegramMessage(user.getTelegramChatId(), message, "HTML"))
-                .retrieve()
-                .bodyToMono(String.class)
-                .doOnNext(resp -> log.info("Telegram message sent to user {}", user.getUsername()))
-                .then();
+        return dispatcher.submit(user.telegramChatId(), renderer.telegram(event).text())
+                .doOnSuccess(v -> log.info("Telegram message sent to user {}", user.username()));
     }
-
-    private String formatMessage(Event event) {
-        return String.format(
-                "<b>%s</b> [%s]\n\n%s\n\n<i>Source: %s | Priority: %s</i>",
-                escapeHtml(event.getTitle()),
-                event.getPriority(),
-                truncate(event.getPayloadJson(), 500),
-                event.getSourceType(),
-                event.getPriority()
-        );
-    }
-
-    private String escapeHtml(String text) {
-        if (text == null) return "";
-        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
-    }
-
-    private String truncate(String text, int max) {
-        if (text == null) return "";
-        return text.length() > max ? text.substring(0, max) + "..." : text;
-    }
-
-    record TelegramMessage(String chat_id, String text, String parse_mode) {}
 }
@@ -0,0 +1,296 @@
+package com.notifyhub.delivery;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Paces Telegram {@code sendMessage} calls to the Bot API limits.
+ * A global token bucket ({@code global-rate} messages per second) and a minimum gap per chat
+ * ({@code per-chat-interval-ms}) decide when a chat may be sent to; whatever queued up for a chat
+ * in the meantime goes out as one digest message. A 429 puts the chat's messages back in front and
+ * holds the chat for the {@code retry_after} Telegram asked for, instead of failing the deliveries.
+ * A message is held at most {@code max-hold-seconds} in total, counted from when it was submitted: one whose
+ * next wait would go past that is handed back to the outbox as a failure, well before its lease runs out.
+ */
+@Slf4j
+@Component
+public class TelegramDispatcher {
+
+    private static final String DIGEST_SEPARATOR = "\n\n- - -\n\n";
+
+    private final WebClient telegramWebClient;
+    private final Counter sent;
+    private final Counter digests;
+    private final Counter throttled;
+    private final Counter failed;
+
+    // All scheduling state is guarded by this
+    private final Map<String, Chat> chats = new HashMap<>();
+    private final PriorityQueue<Chat> ready = new PriorityQueue<>(Comparator.comparingLong(c -> c.nextAllowedAt));
+    private double tokens;
+    private long lastRefill = System.nanoTime();
+    private int queued;
+
+    private Disposable pump;
+
+    @Value("${app.telegram.bot-token:}")
+    private String botToken;
+
+    @Value("${app.telegram.dispatcher.global-rate:30}")
+    private double globalRate;
+
+    @Value("${app.telegram.dispatcher.per-chat-interval-ms:1000}")
+    private long perChatIntervalMs;
+
+    @Value("${app.telegram.dispatcher.digest-max-chars:4096}")
+    private int digestMaxChars;
+
+    @Value("${app.telegram.dispatcher.max-hold-seconds:60}")
+    private long maxHoldSeconds;
+
+    @Value("${app.telegram.dispatcher.tick-ms:50}")
+    private long tickMs;
+
+    public TelegramDispatcher(WebClient telegramWebClient, MeterRegistry meterRegistry) {
+        this.telegramWebClient = telegramWebClient;
+        this.sent = Counter.builder("notifyhub.telegram.requests").tag("result", "sent").register(meterRegistry);
+        this.throttled = Counter.builder("notifyhub.telegram.requests").tag("result", "throttled").register(meterRegistry);
+        this.failed = Counter.builder("notifyhub.telegram.requests").tag("result", "failed").register(meterRegistry);
+        this.digests = Counter.builder("notifyhub.telegram.digests")
+                .description("Messages sent as a digest of several notifications")
+                .register(meterRegistry);
+
+        Gauge.builder("notifyhub.telegram.queued", this, TelegramDispatcher::queued)
+                .description("Notifications waiting for their chat's turn")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        tokens = globalRate;
+        pump = Flux.interval(Duration.ofMillis(tickMs))
+                .onBackpressureDrop()
+                .subscribe(tick -> dispatch());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (pump != null) {
+            pump.dispose();
+        }
+    }
+
+    /**
+     * Queues a message for a chat.
+     *
+     * @return completes once the message (possibly as part of a digest) was accepted by Telegram
+     */
+    public Mono<Void> submit(String chatId, String text) {
+        return Mono.defer(() -> {
+            Sinks.Empty<Void> done = Sinks.empty();
+            synchronized (this) {
+                Chat chat = chats.computeIfAbsent(chatId, Chat::new);
+                chat.pending.addLast(new Pending(text, done, System.nanoTime()));
+                queued++;
+                markReady(chat);
+            }
+            return done.asMono();
+        });
+    }
+
+    private void dispatch() {
+        List<Batch> batches = new ArrayList<>();
+        long now = System.nanoTime();
+
+        synchronized (this) {
+            refill(now);
+            while (tokens >= 1 && !ready.isEmpty() && ready.peek().nextAllowedAt <= now) {
+                Chat chat = ready.poll();
+                chat.inReadyQueue = false;
+                List<Pending> digest = takeDigest(chat);
+                chat.inFlight = true;
+                tokens -= 1;
+                batches.add(new Batch(chat, digest));
+            }
+
+            // Idle chats only matter while their gap is still running
+            if (batches.isEmpty() && ready.isEmpty() && !chats.isEmpty()) {
+                chats.values().removeIf(c -> !c.inFlight && c.pending.isEmpty() && c.nextAllowedAt <= now);
+            }
+        }
+
+        batches.forEach(this::send);
+    }
+
+    private void refill(long now) {
+        double elapsedSeconds = (now - lastRefill) / 1_000_000_000.0;
+        tokens = Math.min(globalRate, tokens + elapsedSeconds * globalRate);
+        lastRefill = now;
+    }
+
+    /**
+     * Takes as many queued messages of a chat as fit into one Telegram message, oldest first.
+     */
+    private List<Pending> takeDigest(Chat chat) {
+        List<Pending> digest = new ArrayList<>();
+        int length = 0;
+        while (!chat.pending.isEmpty()) {
+            Pending next = chat.pending.peekFirst();
+            int added = next.text().length() + (digest.isEmpty() ? 0 : DIGEST_SEPARATOR.length());
+            if (!digest.isEmpty() && length + added > digestMaxChars) {
+                break;
+            }
+            digest.add(chat.pending.pollFirst());
+            length += added;
+        }
+        queued -= digest.size();
+        return digest;
+    }
+
+    private void send(Batch batch) {
+        String text = batch.digest().size() == 1
+                ? batch.digest().get(0).text()
+                : String.join(DIGEST_SEPARATOR, batch.digest().stream().map(Pending::text).toList());
+
+        telegramWebClient.post()
+                .uri("/bot{token}/sendMessage", botToken)
+                .bodyValue(new TelegramMessage(batch.chat().id, text, "HTML"))
+                .exchangeToMono(response -> {
+                    if (response.statusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                        return response.bodyToMono(JsonNode.class)
+                                .map(body -> body.path("parameters").path("retry_after").asLong(1))
+                                .defaultIfEmpty(1L)
+                                .flatMap(retryAfter -> Mono.error(new RetryAfterException(retryAfter)));
+                    }
+                    if (response.statusCode().isError()) {
+                        return response.createException().flatMap(Mono::error);
+                    }
+                    return response.releaseBody();
+                })
+                .subscribe(
+                        null,
+                        e -> completed(batch, e),
+                        () -> completed(batch, null));
+    }
+
+    private void completed(Batch batch, Throwable error) {
+        Chat chat = batch.chat();
+        long now = System.nanoTime();
+
+        // Messages whose total hold would pass max-hold-seconds go back to the outbox, before its lease runs out
+        List<Pending> held = new ArrayList<>();
+        List<Pending> released = batch.digest();
+        if (error instanceof RetryAfterException retryAfter) {
+            long holdUntil = now + Duration.ofSeconds(retryAfter.seconds).toNanos();
+            long maxHoldNanos = Duration.ofSeconds(maxHoldSeconds).toNanos();
+            released = new ArrayList<>();
+            for (Pending p : batch.digest()) {
+                (holdUntil - p.submittedAt() <= maxHoldNanos ? held : released).add(p);
+            }
+        }
+
+        synchronized (this) {
+            chat.inFlight = false;
+            if (error instanceof RetryAfterException retry) {
+                throttled.increment();
+                // Back in front, in the original order
+                for (int i = held.size() - 1; i >= 0; i--) {
+                    chat.pending.addFirst(held.get(i));
+                }
+                queued += held.size();
+                // The chat waits as asked, the whole bucket a moment
+                chat.nextAllowedAt = now + Duration.ofSeconds(retry.seconds).toNanos();
+                tokens = 0;
+            } else {
+                chat.nextAllowedAt = now + Duration.ofMillis(perChatIntervalMs).toNanos();
+            }
+            markReady(chat);
+        }
+
+        if (!held.isEmpty()) {
+            log.warn("Telegram throttled chat {}, retrying {} messages in {}s",
+                    chat.id, held.size(), ((RetryAfterException) error).seconds);
+        }
+        if (error != null) {
+            if (!released.isEmpty()) {
+                failed.increment();
+                released.forEach(p -> p.done().tryEmitError(error));
+            }
+            return;
+        }
+
+        sent.increment();
+        if (batch.digest().size() > 1) {
+            digests.increment();
+            log.info("Telegram digest of {} notifications sent to chat {}", batch.digest().size(), chat.id);
+        }
+        batch.digest().forEach(p -> p.done().tryEmitEmpty());
+    }
+
+    // Caller holds the lock
+    private void markReady(Chat chat) {
+        if (!chat.inFlight && !chat.inReadyQueue && !chat.pending.isEmpty()) {
+            ready.add(chat);
+            chat.inReadyQueue = true;
+        }
+    }
+
+    private synchronized int queued() {
+        return queued;
+    }
+
+    private static final class Chat {
+
+        private final String id;
+        private final Deque<Pending> pending = new ArrayDeque<>();
+        private long nextAllowedAt = System.nanoTime();
+        private boolean inFlight;
+        private boolean inReadyQueue;
+
+        Chat(String id) {
+            this.id = id;
+        }
+    }
+
+    /**
+     * @param submittedAt {@link System#nanoTime()} at submission, bounds how long the message is held
+     */
+    private record Pending(String text, Sinks.Empty<Void> done, long submittedAt) {}
+
+    private record Batch(Chat chat, List<Pending> digest) {}
+
+    private static final class RetryAfterException extends RuntimeException {
+
+        private final long seconds;
+
+        RetryAfterException(long seconds) {
+            super("Too Many Requests, retry after " + seconds + "s");
+            this.seconds = seconds;
+        }
+    }
+
+    record TelegramMessage(String chat_id, String text, String parse_mode) {}
+}
@@ -0,0 +1,17 @@
+package com.notifyhub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChannelPreferencesDto {
+    // External channels to notify on; null means no preference (every channel, or the user's for a subscription)
+    private List<String> channels;
+    // Channels that can currently reach the user; ignored on update
+    private List<String> available;
+}
@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
@@ -16,5 +17,7 @@ public class SubscriptionDto {
     private String sourceType;
     private String params;
     private Boolean enabled;
+    // Read-only here, changed through /api/subscriptions/{id}/channels
+    private List<String> channels;
     private LocalDateTime createdAt;
 }
@@ -0,0 +1,113 @@
+package com.notifyhub.engine;
+
+import com.notifyhub.model.Rule;
+
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Immutable, pre-parsed form of a {@link Rule} held by {@link RuleCache}.
+ * Keywords are lower-cased and split once, quiet hours are reduced to nanos of day.
+ */
+public record CompiledRule(
+        Long id,
+        Long subscriptionId,
+        String[] keywords,
+        long quietStartNanos,
+        long quietEndNanos,
+        int rateLimitPerHour,
+        int dedupWindowMinutes,
+        String priority) {
+
+    private static final long NO_QUIET_HOURS = -1;
+    private static final String[] NO_KEYWORDS = new String[0];
+
+    public static CompiledRule compile(Rule rule) {
+        boolean hasQuietHours = rule.getQuietHoursStart() != null && rule.getQuietHoursEnd() != null;
+
+        return new CompiledRule(
+                rule.getId(),
+                rule.getSubscriptionId(),
+                parseKeywords(rule.getKeywordFilter()),
+                hasQuietHours ? rule.getQuietHoursStart().toNanoOfDay() : NO_QUIET_HOURS,
+                hasQuietHours ? rule.getQuietHoursEnd().toNanoOfDay() : NO_QUIET_HOURS,
+                rule.getRateLimitPerHour() != null ? rule.getRateLimitPerHour() : 0,
+                rule.getDedupWindowMinutes() != null ? rule.getDedupWindowMinutes() : 0,
+                rule.getPriority() != null ? rule.getPriority() : "MEDIUM"
+        );
+    }
+
+    private static String[] parseKeywords(String keywordFilter) {
+        if (keywordFilter == null || keywordFilter.isBlank()) {
+            return NO_KEYWORDS;
+        }
+        return Arrays.stream(keywordFilter.toLowerCase(Locale.ROOT).split(","))
+                .map(String::trim)
+                .filter(k -> !k.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    /**
+     * Value equality including the keywords, which the array component alone would compare by identity.
+     */
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof CompiledRule other
+                && id.equals(other.id)
+                && subscriptionId.equals(other.subscriptionId)
+                && Arrays.equals(keywords, other.keywords)
+                && quietStartNanos == other.quietStartNanos
+                && quietEndNanos == other.quietEndNanos
+                && rateLimitPerHour == other.rateLimitPerHour
+                && dedupWindowMinutes == other.dedupWindowMinutes
+                && priority.equals(other.priority);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Objects.hash(id, subscriptionId, quietStartNanos, quietEndNanos,
+                rateLimitPerHour, dedupWindowMinutes, priority) + Arrays.hashCode(keywords);
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledRule[id=" + id + ", subscriptionId=" + subscriptionId
+                + ", keywords=" + Arrays.toString(keywords) + ", quietStartNanos=" + quietStartNanos
+                + ", quietEndNanos=" + quietEndNanos + ", rateLimitPerHour=" + rateLimitPerHour
+                + ", dedupWindowMinutes=" + dedupWindowMinutes + ", priority=" + priority + "]";
+    }
+
+    public boolean hasKeywordFilter() {
+        return keywords.length > 0;
+    }
+
+    /**
+     * @param content already lower-cased event text
+     */
+    public boolean matchesKeywords(String content) {
+        for (String keyword : keywords) {
+            if (content.contains(keyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isQuietAt(LocalTime time) {
+        if (quietStartNanos == NO_QUIET_HOURS) {
+            return false;
+        }
+
+        long now = time.toNanoOfDay();
+
+        // If quiet hours span midnight (e.g., 22:00 - 08:00)
+        if (quietStartNanos > quietEndNanos) {
+            return now > quietStartNanos || now < quietEndNanos;
+        }
+
+        // Normal range (e.g., 02:00 - 06:00)
+        return now > quietStartNanos && now < quietEndNanos;
+    }
+}
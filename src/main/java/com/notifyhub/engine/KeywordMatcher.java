@@ -0,0 +1,207 @@
+package com.notifyhub.engine;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Aho-Corasick automaton over the keywords of all cached rules.
+ * Scans event text once, case-insensitively and without copying it,
+ * and reports the ids of every rule whose keyword occurs in the text.
+ * Instances are immutable and safe to share between threads.
+ */
+public final class KeywordMatcher {
+
+    private static final char[] NO_LABELS = new char[0];
+    private static final int[] NO_TARGETS = new int[0];
+    private static final long[] NO_OUTPUTS = new long[0];
+
+    private static final KeywordMatcher EMPTY = build(Map.of());
+
+    /** Sorted outgoing edge characters per node. */
+    private final char[][] labels;
+    /** Child node per edge, parallel to {@link #labels}. */
+    private final int[][] targets;
+    private final int[] fail;
+    /** Rule ids whose keyword ends at the node, including those reachable by failure links. */
+    private final long[][] outputs;
+
+    private KeywordMatcher(char[][] labels, int[][] targets, int[] fail, long[][] outputs) {
+        this.labels = labels;
+        this.targets = targets;
+        this.fail = fail;
+        this.outputs = outputs;
+    }
+
+    public static KeywordMatcher empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @param keywordRules keyword to the ids of the rules that use it
+     */
+    public static KeywordMatcher build(Map<String, ? extends Collection<Long>> keywordRules) {
+        List<TreeMap<Character, Integer>> children = new ArrayList<>();
+        List<Set<Long>> ends = new ArrayList<>();
+        children.add(new TreeMap<>());
+        ends.add(new LinkedHashSet<>());
+
+        // 1. Trie of lower-cased keywords
+        keywordRules.forEach((keyword, ruleIds) -> {
+            if (keyword.isEmpty()) {
+                return;
+            }
+            int node = 0;
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = Character.toLowerCase(keyword.charAt(i));
+                Integer next = children.get(node).get(c);
+                if (next == null) {
+                    next = children.size();
+                    children.add(new TreeMap<>());
+                    ends.add(new LinkedHashSet<>());
+                    children.get(node).put(c, next);
+                }
+                node = next;
+            }
+            ends.get(node).addAll(ruleIds);
+        });
+
+        int size = children.size();
+        char[][] labels = new char[size][];
+        int[][] targets = new int[size][];
+        for (int node = 0; node < size; node++) {
+            TreeMap<Character, Integer> edges = children.get(node);
+            if (edges.isEmpty()) {
+                labels[node] = NO_LABELS;
+                targets[node] = NO_TARGETS;
+                continue;
+            }
+            labels[node] = new char[edges.size()];
+            targets[node] = new int[edges.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                labels[node][i] = edge.getKey();
+                targets[node][i] = edge.getValue();
+                i++;
+            }
+        }
+
+        // 2. Failure links in BFS order, merging outputs along the way
+        int[] fail = new int[size];
+        long[][] outputs = new long[size][];
+        outputs[0] = NO_OUTPUTS;
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int child : targets[0]) {
+            fail[child] = 0;
+            outputs[child] = toArray(ends.get(child));
+            queue.add(child);
+        }
+
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int i = 0; i < labels[node].length; i++) {
+                char c = labels[node][i];
+                int child = targets[node][i];
+
+                int f = fail[node];
+                int next = edge(labels, targets, f, c);
+                while (next < 0 && f != 0) {
+                    f = fail[f];
+                    next = edge(labels, targets, f, c);
+                }
+                fail[child] = next < 0 ? 0 : next;
+
+                Set<Long> merged = ends.get(child);
+                for (long id : outputs[fail[child]]) {
+                    merged.add(id);
+                }
+                outputs[child] = toArray(merged);
+                queue.add(child);
+            }
+        }
+
+        return new KeywordMatcher(labels, targets, fail, outputs);
+    }
+
+    /**
+     * Scans the given texts as if they were joined with a single space.
+     *
+     * @return ids of rules with at least one keyword present; empty if none
+     */
+    public Set<Long> match(CharSequence... texts) {
+        Set<Long> matched = null;
+        int state = 0;
+
+        for (int t = 0; t < texts.length; t++) {
+            if (t > 0) {
+                state = step(state, ' ');
+                matched = collect(state, matched);
+            }
+            CharSequence text = texts[t];
+            if (text == null) {
+                continue;
+            }
+            for (int i = 0, n = text.length(); i < n; i++) {
+                state = step(state, Character.toLowerCase(text.charAt(i)));
+                matched = collect(state, matched);
+            }
+        }
+
+        return matched != null ? matched : Set.of();
+    }
+
+    public boolean isEmpty() {
+        return labels[0].length == 0;
+    }
+
+    private int step(int state, char c) {
+        while (true) {
+            int next = edge(labels, targets, state, c);
+            if (next >= 0) {
+                return next;
+            }
+            if (state == 0) {
+                return 0;
+            }
+            state = fail[state];
+        }
+    }
+
+    private Set<Long> collect(int state, Set<Long> matched) {
+        long[] ids = outputs[state];
+        if (ids.length == 0) {
+            return matched;
+        }
+        if (matched == null) {
+            matched = new HashSet<>();
+        }
+        for (long id : ids) {
+            matched.add(id);
+        }
+        return matched;
+    }
+
+    private static int edge(char[][] labels, int[][] targets, int node, char c) {
+        char[] nodeLabels = labels[node];
+        if (nodeLabels.length == 0) {
+            return -1;
+        }
+        int i = Arrays.binarySearch(nodeLabels, c);
+        return i >= 0 ? targets[node][i] : -1;
+    }
+
+    private static long[] toArray(Set<Long> ids) {
+        if (ids.isEmpty()) {
+            return NO_OUTPUTS;
+        }
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+}
@@ -0,0 +1,45 @@
+package com.notifyhub.engine;
+
+import com.notifyhub.model.Event;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Result of scanning one event against the keyword index.
+ * Computed once per event and shared by the evaluation of every subscription.
+ * Rules that are not in the index (e.g. loaded before the cache warmed up)
+ * are checked directly against the event text.
+ */
+public final class KeywordMatches {
+
+    private final Event event;
+    private final Set<Long> indexedRuleIds;
+    private final Set<Long> matchedRuleIds;
+    private String content;
+
+    KeywordMatches(Event event, Set<Long> indexedRuleIds, Set<Long> matchedRuleIds) {
+        this.event = event;
+        this.indexedRuleIds = indexedRuleIds;
+        this.matchedRuleIds = matchedRuleIds;
+    }
+
+    public Set<Long> matchedRuleIds() {
+        return matchedRuleIds;
+    }
+
+    boolean matches(CompiledRule rule) {
+        if (!rule.hasKeywordFilter()) {
+            return true; // No filter = pass
+        }
+        if (indexedRuleIds.contains(rule.id())) {
+            return matchedRuleIds.contains(rule.id());
+        }
+        if (content == null) {
+            String title = event.getTitle() != null ? event.getTitle().toLowerCase(Locale.ROOT) : "";
+            String payload = event.getPayloadJson() != null ? event.getPayloadJson().toLowerCase(Locale.ROOT) : "";
+            content = title + " " + payload;
+        }
+        return rule.matchesKeywords(content);
+    }
+}
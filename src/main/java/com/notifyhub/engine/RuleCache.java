@@ -0,0 +1,270 @@
+package com.notifyhub.engine;
+
+import com.notifyhub.model.Event;
+import com.notifyhub.model.Rule;
+import com.notifyhub.repository.RuleRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory index of compiled rules keyed by subscription id.
+ * Kept current by {@code RuleService} and reloaded from the database every {@code refresh-seconds},
+ * which picks up changes made by other instances, so rule lookups on the ingest path never hit the database.
+ * A reload builds a new index and swaps it in; changes made while it was loading are replayed onto it.
+ * Until the initial load completes, lookups fall back to the repository and count as misses.
+ * Also owns the {@link KeywordMatcher} built over the keywords of all cached rules,
+ * rebuilt lazily after rules change.
+ */
+@Slf4j
+@Component
+public class RuleCache {
+
+    private final RuleRepository ruleRepository;
+    private final Object changeLock = new Object();
+    private final Counter hits;
+    private final Counter misses;
+    private final AtomicLong modifications = new AtomicLong();
+
+    private volatile Map<Long, List<CompiledRule>> bySubscription = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+    private volatile KeywordIndex keywordIndex;
+    // Changes since the running reload started, guarded by changeLock; null while none is running
+    private List<Consumer<Map<Long, List<CompiledRule>>>> changesDuringReload;
+    private Disposable refresher;
+
+    @Value("${app.rules.cache.refresh-seconds:30}")
+    private long refreshSeconds;
+
+    public RuleCache(RuleRepository ruleRepository, MeterRegistry meterRegistry) {
+        this.ruleRepository = ruleRepository;
+        this.hits = Counter.builder("notifyhub.rules.cache.requests")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("notifyhub.rules.cache.requests")
+                .tag("result", "miss")
+                .register(meterRegistry);
+
+        Gauge.builder("notifyhub.rules.cache.size", this, RuleCache::size)
+                .description("Number of compiled rules held in memory")
+                .register(meterRegistry);
+        Gauge.builder("notifyhub.rules.cache.subscriptions", this, cache -> cache.bySubscription.size())
+                .description("Number of subscriptions with cached rules")
+                .register(meterRegistry);
+        Gauge.builder("notifyhub.rules.cache.hit.ratio", this, RuleCache::hitRatio)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresher = Flux.interval(Duration.ZERO, Duration.ofSeconds(refreshSeconds))
+                .onBackpressureDrop()
+                .concatMap(tick -> {
+                    boolean initial = !loaded;
+                    return reload()
+                            .doOnNext(count -> {
+                                if (initial) {
+                                    log.info("Rule cache loaded: {} rules for {} subscriptions", count, bySubscription.size());
+                                }
+                            })
+                            .onErrorResume(e -> {
+                                log.error("Failed to load rule cache: {}", e.getMessage());
+                                return Mono.empty();
+                            });
+                })
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (refresher != null) {
+            refresher.dispose();
+        }
+    }
+
+    /**
+     * Replaces the cache contents with every rule currently stored.
+     *
+     * @return number of rules loaded
+     */
+    public Mono<Integer> reload() {
+        return Mono.defer(() -> {
+                    synchronized (changeLock) {
+                        changesDuringReload = new ArrayList<>();
+                    }
+                    return ruleRepository.findAll()
+                            .map(CompiledRule::compile)
+                            .collect(Collectors.groupingBy(CompiledRule::subscriptionId));
+                })
+                .map(grouped -> {
+                    Map<Long, List<CompiledRule>> loadedRules = new ConcurrentHashMap<>();
+                    grouped.forEach((subscriptionId, rules) -> loadedRules.put(subscriptionId, List.copyOf(rules)));
+                    boolean changed;
+                    synchronized (changeLock) {
+                        // The query may or may not have seen them; each change is idempotent, so replay all
+                        changesDuringReload.forEach(change -> change.accept(loadedRules));
+                        changesDuringReload = null;
+                        changed = !sameRules(bySubscription, loadedRules);
+                        bySubscription = loadedRules;
+                    }
+                    loaded = true;
+                    if (changed) {
+                        modifications.incrementAndGet();
+                    }
+                    return grouped.values().stream().mapToInt(List::size).sum();
+                })
+                .doFinally(signal -> {
+                    synchronized (changeLock) {
+                        changesDuringReload = null;
+                    }
+                });
+    }
+
+    /**
+     * Periodic reloads usually find nothing new; comparing lets them keep the keyword index.
+     * Order within a subscription does not matter to the index.
+     */
+    private static boolean sameRules(Map<Long, List<CompiledRule>> current, Map<Long, List<CompiledRule>> loaded) {
+        if (current.size() != loaded.size()) {
+            return false;
+        }
+        for (Map.Entry<Long, List<CompiledRule>> entry : loaded.entrySet()) {
+            List<CompiledRule> rules = current.get(entry.getKey());
+            if (rules == null || rules.size() != entry.getValue().size()
+                    || !new HashSet<>(rules).containsAll(entry.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns compiled rules of a subscription; an empty list means "no rules".
+     */
+    public Mono<List<CompiledRule>> rulesFor(Long subscriptionId) {
+        if (loaded) {
+            hits.increment();
+            return Mono.just(bySubscription.getOrDefault(subscriptionId, List.of()));
+        }
+
+        misses.increment();
+        return ruleRepository.findBySubscriptionId(subscriptionId)
+                .map(CompiledRule::compile)
+                .collectList();
+    }
+
+    public void put(Rule rule) {
+        CompiledRule compiled = CompiledRule.compile(rule);
+        change(rules -> rules.compute(rule.getSubscriptionId(), (id, current) -> {
+            List<CompiledRule> updated = new ArrayList<>();
+            if (current != null) {
+                current.stream()
+                        .filter(r -> !r.id().equals(compiled.id()))
+                        .forEach(updated::add);
+            }
+            updated.add(compiled);
+            return List.copyOf(updated);
+        }));
+    }
+
+    public void remove(Rule rule) {
+        change(rules -> rules.computeIfPresent(rule.getSubscriptionId(), (id, current) -> {
+            List<CompiledRule> updated = current.stream()
+                    .filter(r -> !r.id().equals(rule.getId()))
+                    .toList();
+            return updated.isEmpty() ? null : updated;
+        }));
+    }
+
+    /**
+     * Drops all rules of a subscription (rules are deleted by cascade with it).
+     */
+    public void evictSubscription(Long subscriptionId) {
+        change(rules -> rules.remove(subscriptionId));
+    }
+
+    private void change(Consumer<Map<Long, List<CompiledRule>>> change) {
+        synchronized (changeLock) {
+            change.accept(bySubscription);
+            if (changesDuringReload != null) {
+                changesDuringReload.add(change);
+            }
+        }
+        modifications.incrementAndGet();
+    }
+
+    /**
+     * Scans the event title and payload once against the keywords of all cached rules.
+     */
+    public KeywordMatches matchKeywords(Event event) {
+        KeywordIndex index = keywordIndex();
+        Set<Long> matched = index.matcher().match(event.getTitle(), event.getPayloadJson());
+        return new KeywordMatches(event, index.ruleIds(), matched);
+    }
+
+    private KeywordIndex keywordIndex() {
+        KeywordIndex index = keywordIndex;
+        long version = modifications.get();
+        if (index != null && index.version() == version) {
+            return index;
+        }
+
+        synchronized (this) {
+            index = keywordIndex;
+            version = modifications.get();
+            if (index != null && index.version() == version) {
+                return index;
+            }
+
+            Map<String, Set<Long>> keywordRules = new HashMap<>();
+            Set<Long> ruleIds = new HashSet<>();
+            for (List<CompiledRule> rules : bySubscription.values()) {
+                for (CompiledRule rule : rules) {
+                    for (String keyword : rule.keywords()) {
+                        keywordRules.computeIfAbsent(keyword, k -> new HashSet<>()).add(rule.id());
+                    }
+                    if (rule.hasKeywordFilter()) {
+                        ruleIds.add(rule.id());
+                    }
+                }
+            }
+
+            index = new KeywordIndex(version, KeywordMatcher.build(keywordRules), Set.copyOf(ruleIds));
+            keywordIndex = index;
+            log.debug("Keyword index rebuilt: {} keywords across {} rules", keywordRules.size(), ruleIds.size());
+            return index;
+        }
+    }
+
+    public int size() {
+        return bySubscription.values().stream().mapToInt(List::size).sum();
+    }
+
+    private record KeywordIndex(long version, KeywordMatcher matcher, Set<Long> ruleIds) {}
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+}
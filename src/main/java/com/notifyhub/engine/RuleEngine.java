@@ -1,113 +1,117 @@
 package com.notifyhub.engine;
 
 import com.notifyhub.model.Event;
-import com.notifyhub.model.Rule;
-import com.notifyhub.repository.NotificationRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
-import java.time.LocalDateTime;
+import java.time.Duration;
 import java.time.LocalTime;
-import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Rule Engine applies user-defined rules to incoming events.
  * Supports: keyword filtering, dedup windows, rate limiting, quiet hours, priority assignment.
+ * Times keyword scans ({@code notifyhub.rules.keywords}) and evaluations ({@code notifyhub.rules.evaluation},
+ * tagged with whether the event passed or was filtered out).
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class RuleEngine {
 
-    private final NotificationRepository notificationRepository;
+    private final RuleCache ruleCache;
+    private final RuleLimiter ruleLimiter;
+    private final Timer keywordScans;
+    private final Timer passed;
+    private final Timer filtered;
+
+    public RuleEngine(RuleCache ruleCache, RuleLimiter ruleLimiter, MeterRegistry meterRegistry) {
+        this.ruleCache = ruleCache;
+        this.ruleLimiter = ruleLimiter;
+        this.keywordScans = fastTimer("notifyhub.rules.keywords")
+                .description("Keyword scan of one event against all cached rules")
+                .register(meterRegistry);
+        this.passed = fastTimer("notifyhub.rules.evaluation")
+                .description("Rule evaluation of one event for one subscription")
+                .tag("result", "pass")
+                .register(meterRegistry);
+        this.filtered = fastTimer("notifyhub.rules.evaluation")
+                .description("Rule evaluation of one event for one subscription")
+                .tag("result", "filtered")
+                .register(meterRegistry);
+    }
 
     /**
-     * Evaluates whether an event passes the given rules for a user.
-     * Returns the priority to use (from the first matching rule, or event's default).
-     * Returns empty Mono if the event should be filtered out.
+     * Matches an event against the keywords of every cached rule in a single pass.
+     * The result is shared by all subscriptions the event is evaluated for.
      */
-    public Mono<String> evaluate(Event event, List<Rule> rules, Long userId) {
-        if (rules == null || rules.isEmpty()) {
-            // No rules = pass through with event's default priority
-            return Mono.just(event.getPriority());
-        }
-
-        // Event must pass at least one rule
-        return evaluateRules(event, rules, userId);
+    public KeywordMatches matchKeywords(Event event) {
+        long started = System.nanoTime();
+        KeywordMatches matches = ruleCache.matchKeywords(event);
+        keywordScans.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return matches;
     }
 
-    private Mono<String> evaluateRules(Event event, List<Rule> rules, Long userId) {
-        // Try each rule - first one that passes wins
-        return Mono.defer(() -> {
-            for (Rule rule : rules) {
-                // 1. Keyword filter
-                if (!passesKeywordFilter(event, rule)) {
-                    continue;
-                }
-
-                // 2. Quiet hours check
-                if (!passesQuietHours(rule)) {
-                    continue;
-                }
+    /**
+     * Outcome of rule evaluation for one recipient.
+     *
+     * @param ruleId rule that let the event through, null when the subscription has no rules
+     */
+    public record Match(Long ruleId, String priority) {}
 
-                // Rule matched keyword and quiet hours; now check rate/dedup asynchronously
-                return checkRateAndDedup(rule, userId)
-                        .flatMap(passes -> {
-                            if (passes) {
-                                return Mono.just(rule.getPriority());
-                            }
-                            return Mono.empty();
-                        });
-            }
-            // No rule matched
-            return Mono.empty();
-        });
+    /**
+     * Evaluates whether an event passes the rules of a subscription for a user.
+     * Rules come pre-compiled from {@link RuleCache}; rate limits and dedup windows
+     * are checked against {@link RuleLimiter} without a database round trip.
+     * Returns the matching rule and the priority to use (from that rule, or event's default).
+     * Returns empty Mono if the event should be filtered out.
+     */
+    public Mono<Match> evaluate(Event event, KeywordMatches matches, Long subscriptionId, Long userId) {
+        return ruleCache.rulesFor(subscriptionId)
+                .flatMap(rules -> {
+                    long started = System.nanoTime();
+                    // No rules = pass through with event's default priority;
+                    // otherwise the event must pass at least one rule
+                    Match match = rules.isEmpty()
+                            ? new Match(null, event.getPriority())
+                            : evaluateRules(event, matches, rules, userId);
+                    (match != null ? passed : filtered).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                    return Mono.justOrEmpty(match);
+                });
     }
 
-    private boolean passesKeywordFilter(Event event, Rule rule) {
-        if (rule.getKeywordFilter() == null || rule.getKeywordFilter().isBlank()) {
-            return true; // No filter = pass
-        }
-
-        String title = event.getTitle() != null ? event.getTitle().toLowerCase() : "";
-        String payload = event.getPayloadJson() != null ? event.getPayloadJson().toLowerCase() : "";
-        String content = title + " " + payload;
-
-        String[] keywords = rule.getKeywordFilter().toLowerCase().split(",");
-        return Arrays.stream(keywords)
-                .map(String::trim)
-                .filter(k -> !k.isEmpty())
-                .anyMatch(content::contains);
-    }
+    private Match evaluateRules(Event event, KeywordMatches matches, List<CompiledRule> rules, Long userId) {
+        LocalTime now = LocalTime.now();
 
-    private boolean passesQuietHours(Rule rule) {
-        if (rule.getQuietHoursStart() == null || rule.getQuietHoursEnd() == null) {
-            return true; // No quiet hours = pass
-        }
+        // Try each rule - first one that passes wins
+        for (CompiledRule rule : rules) {
+            // 1. Keyword filter
+            if (!matches.matches(rule)) {
+                continue;
+            }
 
-        LocalTime now = LocalTime.now();
-        LocalTime start = rule.getQuietHoursStart();
-        LocalTime end = rule.getQuietHoursEnd();
+            // 2. Quiet hours check
+            if (rule.isQuietAt(now)) {
+                continue;
+            }
 
-        // If quiet hours span midnight (e.g., 22:00 - 08:00)
-        if (start.isAfter(end)) {
-            return !(now.isAfter(start) || now.isBefore(end));
+            // 3. Dedup window and rate limit; the first rule to match decides
+            if (ruleLimiter.tryAcquire(userId, rule, event.getSourceType(), event.getTitle())) {
+                return new Match(rule.id(), rule.priority());
+            }
+            return null;
         }
-
-        // Normal range (e.g., 02:00 - 06:00)
-        return !(now.isAfter(start) && now.isBefore(end));
+        // No rule matched
+        return null;
     }
 
-    private Mono<Boolean> checkRateAndDedup(Rule rule, Long userId) {
-        // Rate limit check
-        if (rule.getRateLimitPerHour() > 0) {
-            LocalDateTime oneHourAgo = LocalDateTime.now().minusHours(1);
-            return notificationRepository.countByUserIdAndChannelSince(userId, "UI", oneHourAgo)
-                    .map(count -> count < rule.getRateLimitPerHour());
-        }
-        return Mono.just(true);
+    private static Timer.Builder fastTimer(String name) {
+        return Timer.builder(name)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(100))
+                .maximumExpectedValue(Duration.ofMillis(100));
     }
 }
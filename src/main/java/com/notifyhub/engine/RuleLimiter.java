@@ -0,0 +1,232 @@
+package com.notifyhub.engine;
+
+import com.notifyhub.repository.NotificationRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory rate limit and dedup state per (user, rule).
+ * Rate limits are a sliding hour of one-minute buckets; each bucket packs its minute and count
+ * into one long, so acquiring is a CAS on a single slot and never over-admits within a minute.
+ * Dedup windows are a seen-set of event fingerprints stamped with the minute they were last let through;
+ * a fingerprint is claimed atomically before the rate slot is taken, and released again if the rate limit rejects.
+ * Both are rebuilt from recent notifications once the application is ready.
+ */
+@Slf4j
+@Component
+public class RuleLimiter {
+
+    private static final int BUCKETS = 60;
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final NotificationRepository notificationRepository;
+    private final Map<Key, Window> windows = new ConcurrentHashMap<>();
+
+    private Disposable sweeper;
+
+    public RuleLimiter(NotificationRepository notificationRepository, MeterRegistry meterRegistry) {
+        this.notificationRepository = notificationRepository;
+
+        Gauge.builder("notifyhub.rules.limiter.windows", windows, Map::size)
+                .description("Number of (user, rule) windows held in memory")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        notificationRepository.findRecentRuleHits(LocalDateTime.now())
+                .doOnNext(hit -> record(hit.userId(), hit.ruleId(), hit.dedupWindowMinutes(),
+                        fingerprint(hit.sourceType(), hit.title()), epochMinute(hit.createdAt())))
+                .count()
+                .subscribe(
+                        count -> log.info("Rule limiter rebuilt from {} recent notifications", count),
+                        e -> log.error("Failed to rebuild rule limiter: {}", e.getMessage())
+                );
+
+        sweeper = Flux.interval(Duration.ofMinutes(1))
+                .subscribe(tick -> sweep(currentMinute()));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (sweeper != null) {
+            sweeper.dispose();
+        }
+    }
+
+    /**
+     * Admits an event for a user under a rule's rate limit and dedup window.
+     * An admitted event counts towards the limit and is remembered for the window;
+     * a rejected one leaves no trace.
+     */
+    public boolean tryAcquire(Long userId, CompiledRule rule, String sourceType, String title) {
+        if (rule.rateLimitPerHour() <= 0 && rule.dedupWindowMinutes() <= 0) {
+            return true;
+        }
+
+        long minute = currentMinute();
+        long fingerprint = fingerprint(sourceType, title);
+        Window window = windows.computeIfAbsent(new Key(userId, rule.id()), k -> new Window());
+        window.lastUsedMinute = minute;
+        window.dedupWindowMinutes = rule.dedupWindowMinutes();
+
+        // Claimed before the rate slot, so concurrent evaluations of the same event cannot both pass
+        long previous = Window.UNSEEN;
+        if (rule.dedupWindowMinutes() > 0) {
+            previous = window.claim(fingerprint, minute, rule.dedupWindowMinutes());
+            if (previous == Window.DUPLICATE) {
+                return false;
+            }
+        }
+        if (rule.rateLimitPerHour() > 0 && !window.acquire(minute, rule.rateLimitPerHour())) {
+            if (rule.dedupWindowMinutes() > 0) {
+                window.unclaim(fingerprint, minute, previous);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    private void record(Long userId, Long ruleId, int dedupWindowMinutes, long fingerprint, long minute) {
+        Window window = windows.computeIfAbsent(new Key(userId, ruleId), k -> new Window());
+        window.increment(minute);
+        if (dedupWindowMinutes > 0) {
+            window.seen.merge(fingerprint, minute, Math::max);
+        }
+        window.dedupWindowMinutes = dedupWindowMinutes;
+        window.lastUsedMinute = Math.max(window.lastUsedMinute, minute);
+    }
+
+    /**
+     * Expires seen fingerprints past their dedup window and drops windows with nothing left to remember.
+     */
+    private void sweep(long minute) {
+        windows.values().removeIf(w -> {
+            w.seen.values().removeIf(seenMinute -> seenMinute <= minute - w.dedupWindowMinutes);
+            return w.lastUsedMinute <= minute - BUCKETS && w.seen.isEmpty();
+        });
+    }
+
+    private static long currentMinute() {
+        return System.currentTimeMillis() / 60_000;
+    }
+
+    private static long epochMinute(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toEpochSecond() / 60;
+    }
+
+    /**
+     * FNV-1a over source type and title: two events with the same fingerprint count as the same event.
+     */
+    static long fingerprint(String sourceType, String title) {
+        long hash = 0xcbf29ce484222325L;
+        hash = mix(hash, sourceType);
+        hash = (hash ^ 0x1f) * 0x100000001b3L;
+        return mix(hash, title);
+    }
+
+    private static long mix(long hash, String value) {
+        if (value == null) {
+            return hash;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private record Key(Long userId, Long ruleId) {}
+
+    private static final class Window {
+
+        static final long UNSEEN = -1;
+        static final long DUPLICATE = Long.MIN_VALUE;
+
+        // Slot i holds (minute << COUNT_BITS) | count for a minute with minute % BUCKETS == i
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final Map<Long, Long> seen = new ConcurrentHashMap<>();
+        private volatile long lastUsedMinute;
+        private volatile int dedupWindowMinutes;
+
+        boolean acquire(long minute, int limit) {
+            int slot = (int) (minute % BUCKETS);
+            while (true) {
+                if (count(minute) >= limit) {
+                    return false;
+                }
+                long current = buckets.get(slot);
+                long base = (current >>> COUNT_BITS) == minute ? current : minute << COUNT_BITS;
+                if (buckets.compareAndSet(slot, current, base + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        void increment(long minute) {
+            int slot = (int) (minute % BUCKETS);
+            buckets.getAndUpdate(slot, current -> {
+                long stamp = current >>> COUNT_BITS;
+                if (stamp == minute) {
+                    return current + 1;
+                }
+                // Keep a newer minute that already owns the slot
+                return stamp > minute ? current : (minute << COUNT_BITS) + 1;
+            });
+        }
+
+        int count(long minute) {
+            int total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                long bucket = buckets.get(i);
+                if ((bucket >>> COUNT_BITS) > minute - BUCKETS) {
+                    total += (int) (bucket & COUNT_MASK);
+                }
+            }
+            return total;
+        }
+
+        /**
+         * Stamps the fingerprint with this minute unless it was seen within the window, in one atomic step.
+         *
+         * @return {@link #DUPLICATE} if it was seen, otherwise the stamp it replaced or {@link #UNSEEN}
+         */
+        long claim(long fingerprint, long minute, int windowMinutes) {
+            long[] previous = {UNSEEN};
+            seen.compute(fingerprint, (fp, seenMinute) -> {
+                if (seenMinute != null && seenMinute > minute - windowMinutes) {
+                    previous[0] = DUPLICATE;
+                    return seenMinute;
+                }
+                previous[0] = seenMinute != null ? seenMinute : UNSEEN;
+                return minute;
+            });
+            return previous[0];
+        }
+
+        /**
+         * Undoes a {@link #claim} whose event was then rejected, unless the stamp has changed since.
+         */
+        void unclaim(long fingerprint, long minute, long previous) {
+            if (previous == UNSEEN) {
+                seen.remove(fingerprint, minute);
+            } else {
+                seen.replace(fingerprint, minute, previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.notifyhub.ingest;
+
+import com.notifyhub.model.Event;
+import com.notifyhub.repository.EventRepository;
+import com.notifyhub.service.StatsService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Dedup stage in front of the events table.
+ * An LRU of recently seen externalIds drops the items every poll re-sees without touching the database;
+ * whatever survives is inserted in one statement per poll that claims the externalIds in {@code event_keys}
+ * and skips those already claimed, so the database stays the final arbiter.
+ */
+@Slf4j
+@Component
+public class EventDeduplicator {
+
+    private final EventRepository eventRepository;
+    private final StatsService statsService;
+    private final int lruSize;
+
+    private final Map<String, Boolean> recent;
+
+    public EventDeduplicator(EventRepository eventRepository,
+                             StatsService statsService,
+                             @Value("${app.ingest.dedup.lru-size:10000}") int lruSize) {
+        this.eventRepository = eventRepository;
+        this.statsService = statsService;
+        this.lruSize = lruSize;
+        this.recent = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > EventDeduplicator.this.lruSize;
+            }
+        };
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        eventRepository.findRecentExternalIds(lruSize)
+                .collectList()
+                .subscribe(
+                        ids -> {
+                            // Newest first from the DB; remember oldest first so the newest stay in the LRU
+                            for (int i = ids.size() - 1; i >= 0; i--) {
+                                remember(ids.get(i));
+                            }
+                            log.info("Event dedup seeded with {} external ids", ids.size());
+                        },
+                        e -> log.error("Failed to seed event dedup: {}", e.getMessage())
+                );
+    }
+
+    /**
+     * Persists the events of one poll that have not been seen before.
+     *
+     * @return newly inserted events, with generated ids
+     */
+    public Flux<Event> saveNew(List<Event> polled) {
+        List<Event> candidates = new ArrayList<>(polled.size());
+        Set<String> batchIds = new HashSet<>();
+        int skipped = 0;
+
+        for (Event event : polled) {
+            String externalId = event.getExternalId();
+            if (externalId == null || externalId.isBlank()) {
+                candidates.add(event);
+            } else if (!batchIds.add(externalId) || isKnown(externalId)) {
+                skipped++;
+            } else {
+                candidates.add(event);
+            }
+        }
+
+        if (skipped > 0) {
+            log.debug("Dedup dropped {} of {} polled events in memory", skipped, polled.size());
+        }
+        if (candidates.isEmpty()) {
+            return Flux.empty();
+        }
+
+        return eventRepository.insertIgnoringDuplicates(candidates)
+                .collectList()
+                .flatMapMany(saved -> {
+                    statsService.eventsInserted(saved.size());
+                    // Conflicting rows exist in the DB as well, so every candidate is now known
+                    candidates.forEach(e -> {
+                        if (e.getExternalId() != null && !e.getExternalId().isBlank()) {
+                            remember(e.getExternalId());
+                        }
+                    });
+                    if (saved.size() < candidates.size()) {
+                        log.debug("Event already exists for {} of {} candidates", candidates.size() - saved.size(), candidates.size());
+                    }
+                    return Flux.fromIterable(saved);
+                });
+    }
+
+    private boolean isKnown(String externalId) {
+        synchronized (recent) {
+            return recent.get(externalId) != null;
+        }
+    }
+
+    private void remember(String externalId) {
+        synchronized (recent) {
+            recent.put(externalId, Boolean.TRUE);
+        }
+    }
+}
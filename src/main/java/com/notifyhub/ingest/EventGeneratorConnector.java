@@ -2,16 +2,28 @@ package com.notifyhub.ingest;
 
 import com.notifyhub.model.Event;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Flux;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Internal event generator for load testing and demo purposes.
- * Generates synthetic events at configurable rate.
+ * By default every poll brings 1-3 random events. In load mode ({@code app.ingest.generator.load.enabled})
+ * every poll brings the events owed at {@code events-per-second} since the previous poll, shared by all
+ * generator sources, so the target rate holds whatever the poll interval; lower
+ * {@code app.ingest.scheduler.min-interval-seconds} to smooth out the bursts.
+ * Load events come from {@code sources} simulated sources, repeat a recent external id with probability
+ * {@code duplicate-ratio}, have a payload of one of {@code payload-bytes} (picked uniformly; repeat a size
+ * to weight it) and contain {@code keyword} with probability {@code keyword-hit-rate}.
+ * Their payload carries {@code emittedAtMicros}, the epoch time they were generated at.
  */
 @Slf4j
 @Component
@@ -32,6 +44,39 @@ public class EventGeneratorConnector implements SourceConnector {
 
     private static final String[] PRIORITIES = {"LOW", "MEDIUM", "HIGH"};
 
+    private static final String FILLER = "lorem ipsum dolor sit amet consectetur adipiscing elit ";
+    private static final int RECENT_IDS = 1024;
+
+    @Value("${app.ingest.generator.load.enabled:false}")
+    private boolean loadMode;
+
+    @Value("${app.ingest.generator.load.events-per-second:100}")
+    private double eventsPerSecond;
+
+    @Value("${app.ingest.generator.load.sources:10}")
+    private int sources;
+
+    @Value("${app.ingest.generator.load.duplicate-ratio:0.1}")
+    private double duplicateRatio;
+
+    @Value("${app.ingest.generator.load.payload-bytes:256,1024,4096}")
+    private int[] payloadBytes;
+
+    @Value("${app.ingest.generator.load.keyword:loadtest}")
+    private String keyword;
+
+    @Value("${app.ingest.generator.load.keyword-hit-rate:0.2}")
+    private double keywordHitRate;
+
+    @Value("${app.ingest.generator.load.max-burst-seconds:60}")
+    private double maxBurstSeconds;
+
+    // Guarded by this
+    private final String[] recentIds = new String[RECENT_IDS];
+    private long sequence;
+    private long lastPollNanos;
+    private double owed;
+
     @Override
     public String getSourceType() {
         return "GEN";
@@ -39,6 +84,10 @@ public class EventGeneratorConnector implements SourceConnector {
 
     @Override
     public Flux<Event> poll(String params) {
+        if (loadMode) {
+            return Flux.defer(() -> Flux.fromIterable(loadBatch()));
+        }
+
         // Generate 1-3 random events per poll
         int count = ThreadLocalRandom.current().nextInt(1, 4);
 
@@ -58,4 +107,56 @@ public class EventGeneratorConnector implements SourceConnector {
                             .build();
                 });
     }
+
+    private synchronized List<Event> loadBatch() {
+        long now = System.nanoTime();
+        // The first poll gets one second worth of events
+        double elapsedSeconds = lastPollNanos == 0 ? 1 : (now - lastPollNanos) / 1e9;
+        lastPollNanos = now;
+        owed = Math.min(owed + elapsedSeconds * eventsPerSecond, maxBurstSeconds * eventsPerSecond);
+        int count = (int) owed;
+        owed -= count;
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Event> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String recent = recentIds[random.nextInt(RECENT_IDS)];
+            if (recent != null && random.nextDouble() < duplicateRatio) {
+                events.add(loadEvent(recent, random));
+                continue;
+            }
+            long seq = sequence++;
+            String externalId = "gen:sim-" + random.nextInt(sources) + ":" + seq;
+            recentIds[(int) (seq % RECENT_IDS)] = externalId;
+            events.add(loadEvent(externalId, random));
+        }
+        return events;
+    }
+
+    private Event loadEvent(String externalId, ThreadLocalRandom random) {
+        String source = externalId.substring(4, externalId.lastIndexOf(':'));
+        LocalDateTime createdAt = LocalDateTime.now();
+
+        StringBuilder payload = new StringBuilder(256)
+                .append("{\"generated\":true,\"source\":\"").append(source)
+                .append("\",\"emittedAtMicros\":").append(ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now()))
+                .append(",\"detail\":\"");
+        if (random.nextDouble() < keywordHitRate) {
+            payload.append(keyword).append(' ');
+        }
+        int size = payloadBytes[random.nextInt(payloadBytes.length)];
+        while (payload.length() < size - 2) {
+            payload.append(FILLER, 0, Math.min(FILLER.length(), size - 2 - payload.length()));
+        }
+        payload.append("\"}");
+
+        return Event.builder()
+                .sourceType("GEN")
+                .externalId(externalId)
+                .title(TITLES[random.nextInt(TITLES.length)] + " [" + source + "]")
+                .payloadJson(payload.toString())
+                .priority(PRIORITIES[random.nextInt(PRIORITIES.length)])
+                .createdAt(createdAt)
+                .build();
+    }
 }
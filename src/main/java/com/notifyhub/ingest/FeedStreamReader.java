@@ -0,0 +1,224 @@
+package com.notifyhub.ingest;
+
+import com.rometools.rome.io.impl.DateParser;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Pull parser for RSS 0.9x/1.0/2.0 items and Atom entries on top of StAX.
+ * Reads one item per {@link #next()} call, so the caller decides how much of the document is read.
+ * Only the fields the RSS connector maps into events are extracted; element names are matched
+ * by local name, so namespaced variants ({@code dc:date}, {@code content:encoded}) need no special casing.
+ */
+final class FeedStreamReader implements AutoCloseable {
+
+    private static final XMLInputFactory FACTORY = createFactory();
+
+    private final InputStream input;
+    private final XMLStreamReader reader;
+
+    FeedStreamReader(InputStream input) throws XMLStreamException {
+        this.input = input;
+        this.reader = FACTORY.createXMLStreamReader(input);
+    }
+
+    /**
+     * Reads a response body as it arrives. Must be called off the event loop: reads block until
+     * the next buffer is available. Closing the reader cancels the rest of the body.
+     */
+    static FeedStreamReader open(Flux<DataBuffer> body) throws XMLStreamException {
+        return new FeedStreamReader(new BufferStream(body.toStream(4)));
+    }
+
+    private static XMLInputFactory createFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        // Feeds are untrusted: no DTDs, no external entities
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+
+    /**
+     * @return the next item or entry, or null at the end of the document
+     */
+    FeedItem next() throws XMLStreamException {
+        while (reader.hasNext()) {
+            if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                String name = reader.getLocalName();
+                if ("item".equals(name) || "entry".equals(name)) {
+                    return readItem(name);
+                }
+            }
+        }
+        return null;
+    }
+
+    private FeedItem readItem(String itemElement) throws XMLStreamException {
+        String title = null;
+        String link = null;
+        String guid = null;
+        String description = null;
+        String published = null;
+        String updated = null;
+
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.END_ELEMENT && itemElement.equals(reader.getLocalName())) {
+                break;
+            }
+            if (event != XMLStreamConstants.START_ELEMENT) {
+                continue;
+            }
+
+            switch (reader.getLocalName()) {
+                case "title" -> title = readText();
+                case "link" -> {
+                    // Atom: <link rel="alternate" href="..."/>, RSS: <link>...</link>
+                    String href = reader.getAttributeValue(null, "href");
+                    String rel = reader.getAttributeValue(null, "rel");
+                    String text = readText();
+                    if (href != null) {
+                        if ((rel == null || "alternate".equals(rel)) && link == null) link = href;
+                    } else if (!text.isBlank()) {
+                        link = text.trim();
+                    }
+                }
+                case "guid", "id" -> guid = readText().trim();
+                case "description", "summary" -> description = readText();
+                case "pubDate", "published", "issued" -> published = readText().trim();
+                case "updated", "modified", "date" -> updated = readText().trim();
+                // Nested feed metadata (Atom source) and people carry their own ids and titles
+                case "source", "author", "contributor" -> readText();
+                default -> {
+                    // Unknown elements are skipped on the next iterations
+                }
+            }
+        }
+
+        Date date = parseDate(published != null ? published : updated);
+        return new FeedItem(guid != null && !guid.isEmpty() ? guid : link, title, link, description, date);
+    }
+
+    /**
+     * Text content of the current element, including the text of nested markup (Atom xhtml content).
+     */
+    private String readText() throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+        int depth = 1;
+        while (depth > 0 && reader.hasNext()) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT -> depth++;
+                case XMLStreamConstants.END_ELEMENT -> depth--;
+                case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA, XMLStreamConstants.SPACE ->
+                        text.append(reader.getText());
+                default -> {
+                }
+            }
+        }
+        return text.toString();
+    }
+
+    private static Date parseDate(String value) {
+        return value == null || value.isEmpty() ? null : DateParser.parseDate(value, Locale.US);
+    }
+
+    @Override
+    public void close() {
+        try {
+            reader.close();
+        } catch (XMLStreamException ignored) {
+            // Closing the input below is what releases the body
+        }
+        try {
+            input.close();
+        } catch (IOException ignored) {
+            // Nothing left to release
+        }
+    }
+
+    /**
+     * @param uri  guid (RSS) or id (Atom), falling back to the link
+     * @param date published date, or the updated date if there is none
+     */
+    record FeedItem(String uri, String title, String link, String description, Date date) {}
+
+    /**
+     * Concatenates the buffers of a body as they arrive. Unlike {@link java.io.SequenceInputStream}, closing
+     * does not drain the remaining buffers: it cancels the body first and then releases only the current buffer.
+     */
+    private static final class BufferStream extends InputStream {
+
+        private final Stream<DataBuffer> buffers;
+        private final Iterator<DataBuffer> iterator;
+        private InputStream current;
+
+        BufferStream(Stream<DataBuffer> buffers) {
+            this.buffers = buffers;
+            this.iterator = buffers.iterator();
+        }
+
+        @Override
+        public int read() throws IOException {
+            while (advance()) {
+                int b = current.read();
+                if (b != -1) {
+                    return b;
+                }
+                nextBuffer();
+            }
+            return -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            while (advance()) {
+                int n = current.read(bytes, offset, length);
+                if (n > 0) {
+                    return n;
+                }
+                nextBuffer();
+            }
+            return -1;
+        }
+
+        private boolean advance() {
+            if (current == null && iterator.hasNext()) {
+                // The buffer is released once its stream is closed
+                current = iterator.next().asInputStream(true);
+            }
+            return current != null;
+        }
+
+        private void nextBuffer() throws IOException {
+            current.close();
+            current = null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                buffers.close();
+            } finally {
+                if (current != null) {
+                    nextBuffer();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.notifyhub.ingest;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Incremental projection of a GitHub release list ({@code [ {release}, ... ]}).
+ * Bytes are fed as they arrive to Jackson's non-blocking parser; of each release only the configured
+ * scalar fields are kept, nested objects and arrays (author, assets, reactions) are skipped token by token
+ * and never materialized. One instance reads one response.
+ */
+final class GitHubReleaseProjector {
+
+    // Top-level array is depth 1, a release object depth 2; anything deeper is skipped
+    private static final int RELEASE_DEPTH = 2;
+
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final Set<String> fields;
+    private final int bodyMaxChars;
+
+    private int depth;
+    private String field;
+    private Map<String, Object> current;
+
+    GitHubReleaseProjector(JsonFactory factory, Set<String> fields, int bodyMaxChars) throws IOException {
+        this.parser = factory.createNonBlockingByteArrayParser();
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        this.fields = fields;
+        this.bodyMaxChars = bodyMaxChars;
+    }
+
+    /**
+     * @return releases completed by this chunk
+     */
+    List<Release> feed(byte[] chunk) throws IOException {
+        feeder.feedInput(chunk, 0, chunk.length);
+        return drain();
+    }
+
+    /**
+     * @return releases completed by the end of input
+     */
+    List<Release> finish() throws IOException {
+        feeder.endOfInput();
+        List<Release> releases = drain();
+        parser.close();
+        return releases;
+    }
+
+    private List<Release> drain() throws IOException {
+        List<Release> completed = new ArrayList<>();
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            switch (token) {
+                case START_OBJECT, START_ARRAY -> {
+                    if (++depth == RELEASE_DEPTH && token == JsonToken.START_OBJECT) {
+                        current = new LinkedHashMap<>();
+                    }
+                }
+                case END_OBJECT, END_ARRAY -> {
+                    if (depth-- == RELEASE_DEPTH && current != null) {
+                        completed.add(toRelease(current));
+                        current = null;
+                    }
+                }
+                case FIELD_NAME -> field = parser.currentName();
+                default -> {
+                    if (current != null && depth == RELEASE_DEPTH && keep(field)) {
+                        current.put(field, scalar(token));
+                    }
+                }
+            }
+        }
+        return completed;
+    }
+
+    private boolean keep(String name) {
+        // id, name and tag_name are needed for the event itself even if not in the payload
+        return fields.contains(name) || "id".equals(name) || "name".equals(name) || "tag_name".equals(name);
+    }
+
+    private Object scalar(JsonToken token) throws IOException {
+        return switch (token) {
+            case VALUE_STRING -> {
+                String text = parser.getText();
+                yield "body".equals(field) && text.length() > bodyMaxChars
+                        ? text.substring(0, bodyMaxChars) + "..."
+                        : text;
+            }
+            case VALUE_NUMBER_INT -> parser.getLongValue();
+            case VALUE_NUMBER_FLOAT -> parser.getDoubleValue();
+            case VALUE_TRUE -> Boolean.TRUE;
+            case VALUE_FALSE -> Boolean.FALSE;
+            default -> null;
+        };
+    }
+
+    private Release toRelease(Map<String, Object> values) {
+        Object id = values.get("id");
+        Object name = values.get("name");
+        Object tag = values.get("tag_name");
+        String title = name instanceof String s && !s.isBlank() ? s : tag != null ? tag.toString() : null;
+
+        values.keySet().retainAll(fields);
+        return new Release(id instanceof Number n ? n.longValue() : 0L, title, values);
+    }
+
+    /**
+     * @param payload projected fields, in response order
+     */
+    record Release(long id, String title, Map<String, Object> payload) {}
+}
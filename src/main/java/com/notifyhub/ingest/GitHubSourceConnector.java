@@ -2,15 +2,28 @@ package com.notifyhub.ingest;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.notifyhub.ingest.GitHubReleaseProjector.Release;
 import com.notifyhub.model.Event;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Exceptions;
 import reactor.core.publisher.Flux;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * GitHub releases connector. The release list is tokenized as it arrives ({@link GitHubReleaseProjector})
+ * and each event carries a compact payload of {@code app.ingest.github.fields}, with the release notes
+ * cut to {@code body-max-chars}, instead of the full release object.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
@@ -18,6 +31,13 @@ public class GitHubSourceConnector implements SourceConnector {
 
     private final WebClient githubWebClient;
     private final ObjectMapper objectMapper;
+    private final ValidatorStore validatorStore;
+
+    @Value("${app.ingest.github.fields:name,tag_name,html_url,body,published_at}")
+    private Set<String> payloadFields;
+
+    @Value("${app.ingest.github.body-max-chars:500}")
+    private int bodyMaxChars;
 
     @Override
     public String getSourceType() {
@@ -35,21 +55,15 @@ public class GitHubSourceConnector implements SourceConnector {
                 return Flux.empty();
             }
 
-            return githubWebClient.get()
-                    .uri("/repos/{repo}/releases?per_page=10", repo)
-                    .retrieve()
-                    .bodyToFlux(JsonNode.class)
-                    .map(release -> Event.builder()
-                            .sourceType("GITHUB")
-                            .externalId("github:" + repo + ":" + release.path("id").asText())
-                            .title(release.path("name").asText(release.path("tag_name").asText()))
-                            .payloadJson(release.toString())
-                            .priority("MEDIUM")
-                            .createdAt(LocalDateTime.now())
-                            .build()
-                    )
-                    .onErrorResume(e -> {
+            String key = ValidatorStore.keyFor(getSourceType(), params);
+            Flux<DataBuffer> body = validatorStore.fetchStream(key, githubWebClient.get()
+                    .uri("/repos/{repo}/releases?per_page=10", repo));
+
+            return newerThanHighWaterMark(key, project(body))
+                    .map(release -> toEvent(repo, release))
+                    .onErrorResume(e -> !(e instanceof SourceThrottledException), e -> {
                         log.error("GitHub connector error for repo {}: {}", repo, e.getMessage());
+                        validatorStore.discard(key);
                         return Flux.empty();
                     });
 
@@ -58,4 +72,73 @@ public class GitHubSourceConnector implements SourceConnector {
             return Flux.empty();
         }
     }
+
+    /**
+     * Tokenizes the release list as it arrives, keeping only the configured fields of each release.
+     */
+    private Flux<Release> project(Flux<DataBuffer> body) {
+        return Flux.defer(() -> {
+            GitHubReleaseProjector projector;
+            try {
+                projector = new GitHubReleaseProjector(objectMapper.getFactory(), payloadFields, bodyMaxChars);
+            } catch (IOException e) {
+                return Flux.error(e);
+            }
+
+            return body
+                    .concatMapIterable(buffer -> {
+                        byte[] chunk = new byte[buffer.readableByteCount()];
+                        buffer.read(chunk);
+                        DataBufferUtils.release(buffer);
+                        try {
+                            return projector.feed(chunk);
+                        } catch (IOException e) {
+                            throw Exceptions.propagate(e);
+                        }
+                    })
+                    .concatWith(Flux.defer(() -> {
+                        try {
+                            return Flux.fromIterable(projector.finish());
+                        } catch (IOException e) {
+                            return Flux.error(e);
+                        }
+                    }));
+        });
+    }
+
+    /**
+     * Releases not newer than the high-water mark (largest release id seen) are dropped before they become events.
+     */
+    private Flux<Release> newerThanHighWaterMark(String key, Flux<Release> releases) {
+        String mark = validatorStore.highWaterMark(key);
+        long highWaterMark = mark != null ? Long.parseLong(mark) : Long.MIN_VALUE;
+        AtomicLong newest = new AtomicLong(highWaterMark);
+
+        return releases
+                .filter(release -> release.id() > highWaterMark)
+                .doOnNext(release -> {
+                    if (release.id() > newest.get()) {
+                        newest.set(release.id());
+                        validatorStore.stageHighWaterMark(key, Long.toString(release.id()));
+                    }
+                });
+    }
+
+    private Event toEvent(String repo, Release release) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(release.payload());
+        } catch (IOException e) {
+            payload = "{}";
+        }
+
+        return Event.builder()
+                .sourceType("GITHUB")
+                .externalId("github:" + repo + ":" + release.id())
+                .title(release.title())
+                .payloadJson(payload)
+                .priority("MEDIUM")
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
 }
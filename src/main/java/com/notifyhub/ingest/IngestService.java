@@ -1,17 +1,14 @@
 package com.notifyhub.ingest;
 
+import com.notifyhub.delivery.ChannelRouter;
+import com.notifyhub.engine.KeywordMatches;
 import com.notifyhub.engine.RuleEngine;
 import com.notifyhub.model.Event;
-import com.notifyhub.model.Notification;
-import com.notifyhub.model.Rule;
 import com.notifyhub.model.Subscription;
-import com.notifyhub.delivery.DeliveryService;
-import com.notifyhub.repository.EventRepository;
-import com.notifyhub.repository.RuleRepository;
-import com.notifyhub.repository.SubscriptionRepository;
 import com.notifyhub.service.NotificationService;
-import jakarta.annotation.PostConstruct;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -20,155 +17,124 @@ import reactor.core.publisher.Mono;
 
 import java.time.Duration;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Main ingest pipeline.
- * Periodically polls all enabled subscriptions, fetches events from connectors,
- * deduplicates, applies rules, creates notifications, and triggers delivery.
+ * Main ingest pipeline for one poll of a source:
+ * fetches events from the connector, deduplicates, applies rules and creates notifications.
+ * When and how often each source is polled is decided by {@link PollScheduler}.
+ * Which channels each match is notified on is decided by {@link ChannelRouter};
+ * external delivery is decoupled through {@link com.notifyhub.delivery.DeliveryOutbox}.
+ * Per source type, connector polls are timed as {@code notifyhub.ingest.poll} by outcome
+ * ({@code success}, {@code throttled}, {@code error} or {@code timeout}), and polled events
+ * are counted as {@code notifyhub.ingest.events} by result ({@code new} or {@code duplicate}; together, all fetched).
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class IngestService {
 
-    private final SubscriptionRepository subscriptionRepository;
-    private final EventRepository eventRepository;
-    private final RuleRepository ruleRepository;
+    private final EventDeduplicator eventDeduplicator;
     private final RuleEngine ruleEngine;
     private final NotificationService notificationService;
-    private final DeliveryService deliveryService;
-    private final List<SourceConnector> connectors;
-
-    @Value("${app.ingest.poll-interval-seconds:60}")
-    private int pollIntervalSeconds;
-
-    private Map<String, SourceConnector> connectorMap;
-
-    @PostConstruct
-    public void start() {
-        connectorMap = connectors.stream()
-                .collect(Collectors.toMap(SourceConnector::getSourceType, c -> c));
-
-        log.info("IngestService starting with {} connectors, poll interval = {}s",
-                connectorMap.size(), pollIntervalSeconds);
-
-        // Main polling loop
-        Flux.interval(Duration.ofSeconds(5), Duration.ofSeconds(pollIntervalSeconds))
-                .flatMap(tick -> processAllSubscriptions()
-                        .onErrorResume(e -> {
-                            log.error("Error in ingest cycle: {}", e.getMessage());
-                            return Mono.empty();
-                        })
-                )
-                .subscribe();
-
-        log.info("IngestService started successfully");
+    private final ChannelRouter channelRouter;
+    private final ValidatorStore validatorStore;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.ingest.scheduler.poll-timeout-seconds:120}")
+    private long pollTimeoutSeconds;
+
+    public IngestService(EventDeduplicator eventDeduplicator,
+                         RuleEngine ruleEngine,
+                         NotificationService notificationService,
+                         ChannelRouter channelRouter,
+                         ValidatorStore validatorStore,
+                         MeterRegistry meterRegistry) {
+        this.eventDeduplicator = eventDeduplicator;
+        this.ruleEngine = ruleEngine;
+        this.notificationService = notificationService;
+        this.channelRouter = channelRouter;
+        this.validatorStore = validatorStore;
+        this.meterRegistry = meterRegistry;
     }
 
-    private Mono<Void> processAllSubscriptions() {
-        log.debug("Starting ingest cycle...");
-
-        return subscriptionRepository.findByEnabled(true)
-                .collectList()
-                .flatMap(subscriptions -> {
-                    log.debug("Processing {} active subscriptions", subscriptions.size());
-
-                    // Group by sourceType + params for efficient polling
-                    Map<String, List<Subscription>> grouped = subscriptions.stream()
-                            .collect(Collectors.groupingBy(
-                                    s -> s.getSourceType() + "::" + (s.getParams() != null ? s.getParams() : "")
-                            ));
-
-                    return Flux.fromIterable(grouped.entrySet())
-                            .flatMap(entry -> {
-                                List<Subscription> subs = entry.getValue();
-                                Subscription representative = subs.get(0);
-
-                                SourceConnector connector = connectorMap.get(representative.getSourceType());
-                                if (connector == null) {
-                                    log.warn("No connector for source type: {}", representative.getSourceType());
-                                    return Flux.empty();
-                                }
-
-                                return connector.poll(representative.getParams() != null ? representative.getParams() : "{}")
-                                        .flatMap(event -> processEvent(event, subs), 4)
-                                        .onErrorResume(e -> {
-                                            log.error("Error polling source {}: {}", representative.getSourceType(), e.getMessage());
-                                            return Flux.empty();
-                                        });
-                            }, 4)
-                            .then();
-                });
+    /**
+     * Polls a source once on behalf of all subscriptions sharing its parameters.
+     * Connector errors propagate so the scheduler can back off. Only the fetch is bounded by
+     * {@code poll-timeout-seconds}: once events are stored, cancelling would lose their notifications,
+     * as the next poll skips them as duplicates.
+     *
+     * @return number of events that were new
+     */
+    public Mono<Integer> ingest(SourceConnector connector, String params, List<Subscription> subscriptions) {
+        String source = connector.getSourceType();
+        AtomicInteger fresh = new AtomicInteger();
+
+        return timedPoll(connector, params)
+                .timeout(Duration.ofSeconds(pollTimeoutSeconds))
+                .flatMapMany(polled -> eventDeduplicator.saveNew(polled)
+                        .doOnNext(event -> fresh.incrementAndGet())
+                        .doOnComplete(() -> {
+                            events(source, "new").increment(fresh.get());
+                            events(source, "duplicate").increment(polled.size() - fresh.get());
+                        }))
+                .flatMap(event -> draftsFor(event, subscriptions), 4)
+                .transform(notificationService::createAll)
+                // Validators and high-water mark advance only once the events are stored
+                .then(validatorStore.commit(ValidatorStore.keyFor(connector.getSourceType(), params)))
+                .then(Mono.fromSupplier(fresh::get));
     }
 
-    private Mono<Void> processEvent(Event event, List<Subscription> subscriptions) {
-        // Dedup by externalId
-        return dedup(event)
-                .flatMap(savedEvent ->
-                        Flux.fromIterable(subscriptions)
-                                .flatMap(sub -> processForSubscription(savedEvent, sub))
-                                .then()
-                )
-                .onErrorResume(e -> {
-                    log.error("Error processing event '{}': {}", event.getTitle(), e.getMessage());
-                    return Mono.empty();
-                });
+    private Mono<List<Event>> timedPoll(SourceConnector connector, String params) {
+        return Mono.defer(() -> {
+            long started = System.nanoTime();
+            return connector.poll(params)
+                    .collectList()
+                    .doOnSuccess(events -> pollTimer(connector, "success").record(System.nanoTime() - started, TimeUnit.NANOSECONDS))
+                    .doOnError(e -> pollTimer(connector, e instanceof SourceThrottledException ? "throttled" : "error")
+                            .record(System.nanoTime() - started, TimeUnit.NANOSECONDS))
+                    // Cancelled by the poll timeout; these are the slowest polls, so they must be recorded too
+                    .doOnCancel(() -> pollTimer(connector, "timeout").record(System.nanoTime() - started, TimeUnit.NANOSECONDS));
+        });
     }
 
-    private Mono<Event> dedup(Event event) {
-        if (event.getExternalId() == null || event.getExternalId().isBlank()) {
-            return eventRepository.save(event);
-        }
-
-        return eventRepository.existsByExternalId(event.getExternalId())
-                .flatMap(exists -> {
-                    if (exists) {
-                        log.debug("Event already exists: {}", event.getExternalId());
-                        return Mono.empty();
-                    }
-                    return eventRepository.save(event);
-                });
+    // Polls are infrequent, so meters are looked up in the registry rather than held per source type
+    private Timer pollTimer(SourceConnector connector, String outcome) {
+        return Timer.builder("notifyhub.ingest.poll")
+                .description("Connector poll, up to all events fetched")
+                .tag("source", connector.getSourceType())
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofMinutes(2))
+                .register(meterRegistry);
     }
 
-    private Mono<Void> processForSubscription(Event event, Subscription subscription) {
-        return ruleRepository.findBySubscriptionId(subscription.getId())
-                .collectList()
-                .flatMap(rules -> {
-                    if (rules.isEmpty()) {
-                        // No rules = notify with default priority
-                        return createNotifications(subscription.getUserId(), event, event.getPriority());
-                    }
-                    return ruleEngine.evaluate(event, rules, subscription.getUserId())
-                            .flatMap(priority -> createNotifications(subscription.getUserId(), event, priority));
-                });
+    private Counter events(String source, String result) {
+        return Counter.builder("notifyhub.ingest.events")
+                .description("Events fetched by connector polls")
+                .tag("source", source)
+                .tag("result", result)
+                .register(meterRegistry);
     }
 
-    private Mono<Void> createNotifications(Long userId, Event event, String priority) {
-        // Update event priority
-        Event enriched = Event.builder()
-                .id(event.getId())
-                .sourceType(event.getSourceType())
-                .externalId(event.getExternalId())
-                .title(event.getTitle())
-                .payloadJson(event.getPayloadJson())
-                .priority(priority)
-                .createdAt(event.getCreatedAt())
-                .build();
-
-        // Create UI notification (always)
-        Mono<Notification> uiNotification = notificationService.createAndDeliver(userId, enriched, "UI");
-
-        // Create external channel notifications
-        Mono<Notification> telegramNotification = notificationService.createAndDeliver(userId, enriched, "TELEGRAM");
-
-        return uiNotification
-                .then(telegramNotification)
-                .flatMap(notification -> deliveryService.deliver(notification, enriched))
+    private Flux<NotificationService.Draft> draftsFor(Event event, List<Subscription> subscriptions) {
+        // Keyword scan runs once per event, not once per subscriber
+        KeywordMatches matches = ruleEngine.matchKeywords(event);
+        return Flux.fromIterable(subscriptions)
+                .flatMap(sub -> ruleEngine.evaluate(event, matches, sub.getId(), sub.getUserId())
+                        .flatMapMany(match -> channelRouter.channelsFor(sub)
+                                .flatMapIterable(channels -> notificationsFor(sub.getUserId(), event, match, channels))))
                 .onErrorResume(e -> {
-                    log.error("Error creating notifications for user {}: {}", userId, e.getMessage());
-                    return Mono.empty();
+                    log.error("Error processing event '{}': {}", event.getTitle(), e.getMessage());
+                    return Flux.empty();
                 });
     }
+
+    private List<NotificationService.Draft> notificationsFor(Long userId, Event event, RuleEngine.Match match,
+                                                             List<String> channels) {
+        // External channels are sent by the delivery outbox
+        return channels.stream()
+                .map(channel -> new NotificationService.Draft(userId, event, channel, match.ruleId(), match.priority()))
+                .toList();
+    }
 }
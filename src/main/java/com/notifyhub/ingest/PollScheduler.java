@@ -0,0 +1,279 @@
+package com.notifyhub.ingest;
+
+import com.notifyhub.model.Subscription;
+import com.notifyhub.repository.SubscriptionRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Adaptive polling scheduler.
+ * Every source (subscriptions grouped by source type and params) has its own next-poll time in a
+ * priority queue. A source is taken off the queue while its poll runs and put back when it finishes,
+ * so polls of one source never overlap. The interval halves when a poll brings new events and grows
+ * when it brings none; a throttled source waits at least as long as it asked for.
+ * Each source type has its own budget of concurrent polls ({@code app.ingest.scheduler.concurrency.<type>}).
+ */
+@Slf4j
+@Component
+public class PollScheduler {
+
+    private final SubscriptionRepository subscriptionRepository;
+    private final IngestService ingestService;
+    private final Environment environment;
+    private final Map<String, SourceConnector> connectors;
+
+    private final Map<String, Source> sources = new ConcurrentHashMap<>();
+    private final PriorityQueue<Source> queue = new PriorityQueue<>(Comparator.comparing(s -> s.nextPollAt));
+    private final Map<String, AtomicInteger> budgets = new ConcurrentHashMap<>();
+    private final AtomicInteger running = new AtomicInteger();
+    private final Disposable.Composite subscriptions = Disposables.composite();
+
+    @Value("${app.ingest.poll-interval-seconds:60}")
+    private long initialIntervalSeconds;
+
+    @Value("${app.ingest.scheduler.min-interval-seconds:15}")
+    private long minIntervalSeconds;
+
+    @Value("${app.ingest.scheduler.max-interval-seconds:900}")
+    private long maxIntervalSeconds;
+
+    @Value("${app.ingest.scheduler.backoff-factor:1.5}")
+    private double backoffFactor;
+
+    @Value("${app.ingest.scheduler.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${app.ingest.scheduler.refresh-seconds:30}")
+    private long refreshSeconds;
+
+    @Value("${app.ingest.scheduler.default-concurrency:4}")
+    private int defaultConcurrency;
+
+    public PollScheduler(SubscriptionRepository subscriptionRepository,
+                         IngestService ingestService,
+                         Environment environment,
+                         List<SourceConnector> connectors,
+                         MeterRegistry meterRegistry) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.ingestService = ingestService;
+        this.environment = environment;
+        this.connectors = connectors.stream()
+                .collect(Collectors.toMap(SourceConnector::getSourceType, Function.identity()));
+
+        Gauge.builder("notifyhub.ingest.sources", sources, Map::size)
+                .description("Number of distinct sources being polled")
+                .register(meterRegistry);
+        Gauge.builder("notifyhub.ingest.polls.running", running, AtomicInteger::get)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        connectors.keySet().forEach(type -> budgets.put(type, new AtomicInteger(concurrencyFor(type))));
+
+        log.info("Poll scheduler starting with {} connectors, initial interval = {}s, budgets = {}",
+                connectors.size(), initialIntervalSeconds, budgets);
+
+        subscriptions.add(Flux.interval(Duration.ZERO, Duration.ofSeconds(refreshSeconds))
+                .onBackpressureDrop()
+                .concatMap(tick -> refresh()
+                        .onErrorResume(e -> {
+                            log.error("Failed to refresh polled sources: {}", e.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe());
+
+        subscriptions.add(Flux.interval(Duration.ofMillis(tickMs))
+                .onBackpressureDrop()
+                .subscribe(tick -> dispatchDue()));
+    }
+
+    @PreDestroy
+    public void stop() {
+        subscriptions.dispose();
+    }
+
+    private int concurrencyFor(String sourceType) {
+        return environment.getProperty("app.ingest.scheduler.concurrency." + sourceType.toLowerCase(Locale.ROOT),
+                Integer.class, defaultConcurrency);
+    }
+
+    /**
+     * Syncs the set of sources with the enabled subscriptions. New sources are polled right away,
+     * known ones keep their schedule and only get the current subscriber list.
+     */
+    private Mono<Void> refresh() {
+        return subscriptionRepository.findByEnabled(true)
+                .collectList()
+                .doOnNext(enabled -> {
+                    Map<String, List<Subscription>> grouped = enabled.stream()
+                            .collect(Collectors.groupingBy(PollScheduler::sourceKey));
+
+                    grouped.forEach((key, subs) -> {
+                        Source existing = sources.get(key);
+                        if (existing != null) {
+                            existing.subscribers = subs;
+                            return;
+                        }
+                        Subscription representative = subs.get(0);
+                        SourceConnector connector = connectors.get(representative.getSourceType());
+                        if (connector == null) {
+                            log.warn("No connector for source type: {}", representative.getSourceType());
+                            return;
+                        }
+                        Source source = new Source(key, connector,
+                                representative.getParams() != null ? representative.getParams() : "{}", subs);
+                        source.interval = Duration.ofSeconds(initialIntervalSeconds);
+                        source.nextPollAt = Instant.now();
+                        sources.put(key, source);
+                        enqueue(source);
+                    });
+
+                    // Removed sources are skipped when they come off the queue
+                    sources.values().removeIf(source -> {
+                        if (grouped.containsKey(source.key)) {
+                            return false;
+                        }
+                        source.removed = true;
+                        return true;
+                    });
+                })
+                .then();
+    }
+
+    private static String sourceKey(Subscription s) {
+        return s.getSourceType() + "::" + (s.getParams() != null ? s.getParams() : "");
+    }
+
+    private void dispatchDue() {
+        Instant now = Instant.now();
+        List<Source> due = new ArrayList<>();
+
+        synchronized (queue) {
+            List<Source> waiting = new ArrayList<>();
+            while (!queue.isEmpty() && !queue.peek().nextPollAt.isAfter(now)) {
+                Source source = queue.poll();
+                if (source.removed) {
+                    continue;
+                }
+                AtomicInteger budget = budgets.get(source.connector.getSourceType());
+                if (budget.get() > 0) {
+                    budget.decrementAndGet();
+                    due.add(source);
+                } else {
+                    // Out of budget for this source type, stays due until a poll finishes
+                    waiting.add(source);
+                }
+            }
+            queue.addAll(waiting);
+        }
+
+        due.forEach(this::poll);
+    }
+
+    private void poll(Source source) {
+        running.incrementAndGet();
+        long started = System.nanoTime();
+
+        ingestService.ingest(source.connector, source.params, source.subscribers)
+                .map(fresh -> {
+                    source.interval = fresh > 0 ? faster(source.interval) : slower(source.interval);
+                    log.debug("Polled {}: {} new events in {} ms, next in {}s", source.key, fresh,
+                            (System.nanoTime() - started) / 1_000_000, source.interval.toSeconds());
+                    return source.interval;
+                })
+                .onErrorResume(SourceThrottledException.class, e -> {
+                    Duration wait = e.getRetryAfter() != null && e.getRetryAfter().compareTo(source.interval) > 0
+                            ? e.getRetryAfter()
+                            : slower(source.interval);
+                    log.warn("Source {} throttled ({}), next poll in {}s", source.key, e.getMessage(), wait.toSeconds());
+                    return Mono.just(wait);
+                })
+                .onErrorResume(e -> {
+                    source.interval = slower(source.interval);
+                    log.error("Error polling source {}: {}", source.key, e.getMessage());
+                    return Mono.just(source.interval);
+                })
+                .doFinally(signal -> {
+                    running.decrementAndGet();
+                    budgets.get(source.connector.getSourceType()).incrementAndGet();
+                })
+                .subscribe(wait -> {
+                    source.nextPollAt = Instant.now().plus(jitter(wait));
+                    enqueue(source);
+                });
+    }
+
+    private void enqueue(Source source) {
+        synchronized (queue) {
+            queue.add(source);
+        }
+    }
+
+    private Duration faster(Duration interval) {
+        return clamp(interval.dividedBy(2));
+    }
+
+    private Duration slower(Duration interval) {
+        return clamp(Duration.ofMillis((long) (interval.toMillis() * backoffFactor)));
+    }
+
+    private Duration clamp(Duration interval) {
+        long seconds = Math.max(minIntervalSeconds, Math.min(maxIntervalSeconds, interval.toSeconds()));
+        return Duration.ofSeconds(seconds);
+    }
+
+    /**
+     * Up to 10% extra so sources added together do not stay in lockstep.
+     */
+    private static Duration jitter(Duration wait) {
+        long bound = Math.max(1, wait.toMillis() / 10);
+        return wait.plusMillis(ThreadLocalRandom.current().nextLong(bound));
+    }
+
+    private static final class Source {
+
+        private final String key;
+        private final SourceConnector connector;
+        private final String params;
+
+        private volatile List<Subscription> subscribers;
+        private volatile boolean removed;
+
+        // Only changed while the source is off the queue
+        private Duration interval;
+        private Instant nextPollAt;
+
+        Source(String key, SourceConnector connector, String params, List<Subscription> subscribers) {
+            this.key = key;
+            this.connector = connector;
+            this.params = params;
+            this.subscribers = subscribers;
+        }
+    }
+}
@@ -2,22 +2,34 @@ package com.notifyhub.ingest;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.notifyhub.ingest.FeedStreamReader.FeedItem;
 import com.notifyhub.model.Event;
-import com.rometools.rome.feed.synd.SyndEntry;
-import com.rometools.rome.feed.synd.SyndFeed;
 import com.rometools.rome.io.SyndFeedInput;
+import com.rometools.rome.io.XmlReader;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Exceptions;
 import reactor.core.publisher.Flux;
-import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
-import java.io.StringReader;
+import javax.xml.stream.XMLStreamException;
+import java.io.InputStream;
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * RSS/Atom connector. By default feeds are parsed as a stream ({@link FeedStreamReader}), reading only
+ * as far as the item limit and the high-water mark require; {@code app.ingest.rss.parser=ROME}
+ * switches back to whole-document parsing.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
@@ -25,6 +37,16 @@ public class RssSourceConnector implements SourceConnector {
 
     private final WebClient generalWebClient;
     private final ObjectMapper objectMapper;
+    private final ValidatorStore validatorStore;
+
+    @Value("${app.ingest.rss.parser:STREAMING}")
+    private ParserMode parserMode;
+
+    @Value("${app.ingest.rss.max-items:20}")
+    private int maxItems;
+
+    @Value("${app.ingest.rss.max-body-bytes:5242880}")
+    private long maxBodyBytes;
 
     @Override
     public String getSourceType() {
@@ -42,13 +64,15 @@ public class RssSourceConnector implements SourceConnector {
                 return Flux.empty();
             }
 
-            return generalWebClient.get()
-                    .uri(url)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .flatMapMany(xml -> parseRssFeed(xml, url))
-                    .onErrorResume(e -> {
+            String key = ValidatorStore.keyFor(getSourceType(), params);
+            Flux<DataBuffer> body = limit(validatorStore.fetchStream(key, generalWebClient.get().uri(url)), url);
+            Flux<FeedItem> items = parserMode == ParserMode.ROME ? parseWithRome(body) : parseStreaming(body);
+
+            return newerThanHighWaterMark(key, items)
+                    .map(item -> toEvent(item, url))
+                    .onErrorResume(e -> !(e instanceof SourceThrottledException), e -> {
                         log.error("RSS connector error for {}: {}", url, e.getMessage());
+                        validatorStore.discard(key);
                         return Flux.empty();
                     });
 
@@ -58,38 +82,112 @@ public class RssSourceConnector implements SourceConnector {
         }
     }
 
-    private Flux<Event> parseRssFeed(String xml, String feedUrl) {
-        return Mono.fromCallable(() -> {
-                    SyndFeedInput input = new SyndFeedInput();
-                    SyndFeed feed = input.build(new StringReader(xml));
-                    return feed.getEntries();
+    /**
+     * Fails the body once it grows past {@code max-body-bytes}.
+     */
+    private Flux<DataBuffer> limit(Flux<DataBuffer> body, String url) {
+        AtomicLong read = new AtomicLong();
+        return body.handle((buffer, sink) -> {
+            if (read.addAndGet(buffer.readableByteCount()) > maxBodyBytes) {
+                DataBufferUtils.release(buffer);
+                sink.error(new DataBufferLimitException("Feed " + url + " exceeds " + maxBodyBytes + " bytes"));
+            } else {
+                sink.next(buffer);
+            }
+        });
+    }
+
+    /**
+     * Pulls items off the body one at a time; once downstream has enough, closing the reader
+     * cancels the response and the rest of the feed is never downloaded.
+     */
+    private Flux<FeedItem> parseStreaming(Flux<DataBuffer> body) {
+        return Flux.<FeedItem, FeedStreamReader>generate(
+                        () -> FeedStreamReader.open(body),
+                        (reader, sink) -> {
+                            try {
+                                FeedItem item = reader.next();
+                                if (item != null) {
+                                    sink.next(item);
+                                } else {
+                                    sink.complete();
+                                }
+                            } catch (XMLStreamException e) {
+                                sink.error(e);
+                            }
+                            return reader;
+                        },
+                        FeedStreamReader::close)
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Whole-document parsing with ROME, for feeds the streaming reader does not handle.
+     */
+    private Flux<FeedItem> parseWithRome(Flux<DataBuffer> body) {
+        return DataBufferUtils.join(body)
+                .publishOn(Schedulers.boundedElastic())
+                .map(buffer -> {
+                    try (InputStream in = buffer.asInputStream(true)) {
+                        return new SyndFeedInput().build(new XmlReader(in)).getEntries();
+                    } catch (Exception e) {
+                        throw Exceptions.propagate(e);
+                    }
                 })
-                .subscribeOn(Schedulers.boundedElastic())
-                .flatMapMany(entries -> Flux.fromIterable(entries))
-                .take(20)
-                .map(entry -> Event.builder()
-                        .sourceType("RSS")
-                        .externalId("rss:" + feedUrl + ":" + (entry.getUri() != null ? entry.getUri() : entry.getLink()))
-                        .title(entry.getTitle())
-                        .payloadJson(buildRssPayload(entry))
-                        .priority("MEDIUM")
-                        .createdAt(LocalDateTime.now())
-                        .build()
-                );
+                .flatMapIterable(entries -> entries)
+                .map(entry -> new FeedItem(
+                        entry.getUri() != null ? entry.getUri() : entry.getLink(),
+                        entry.getTitle(),
+                        entry.getLink(),
+                        entry.getDescription() != null ? entry.getDescription().getValue() : null,
+                        entry.getPublishedDate() != null ? entry.getPublishedDate() : entry.getUpdatedDate()));
+    }
+
+    /**
+     * Feeds list newest first: reading stops at the first item not newer than the high-water mark
+     * (newest published or updated date seen), or after {@code max-items}. Undated items are left to event dedup.
+     */
+    private Flux<FeedItem> newerThanHighWaterMark(String key, Flux<FeedItem> items) {
+        String mark = validatorStore.highWaterMark(key);
+        Instant highWaterMark = mark != null ? Instant.parse(mark) : Instant.MIN;
+        AtomicReference<Instant> newest = new AtomicReference<>(highWaterMark);
+
+        return items
+                .takeWhile(item -> item.date() == null || item.date().toInstant().isAfter(highWaterMark))
+                .take(maxItems)
+                .doOnNext(item -> {
+                    if (item.date() != null && item.date().toInstant().isAfter(newest.get())) {
+                        newest.set(item.date().toInstant());
+                        validatorStore.stageHighWaterMark(key, newest.get().toString());
+                    }
+                });
     }
 
-    private String buildRssPayload(SyndEntry entry) {
+    private Event toEvent(FeedItem item, String feedUrl) {
+        return Event.builder()
+                .sourceType("RSS")
+                .externalId("rss:" + feedUrl + ":" + item.uri())
+                .title(item.title())
+                .payloadJson(buildRssPayload(item))
+                .priority("MEDIUM")
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private String buildRssPayload(FeedItem item) {
         try {
             return objectMapper.writeValueAsString(new RssPayload(
-                    entry.getTitle(),
-                    entry.getLink(),
-                    entry.getDescription() != null ? entry.getDescription().getValue() : null,
-                    entry.getPublishedDate() != null ? entry.getPublishedDate().toString() : null
+                    item.title(),
+                    item.link(),
+                    item.description(),
+                    item.date() != null ? item.date().toString() : null
             ));
         } catch (Exception e) {
             return "{}";
         }
     }
 
+    public enum ParserMode { STREAMING, ROME }
+
     record RssPayload(String title, String link, String description, String publishedDate) {}
 }
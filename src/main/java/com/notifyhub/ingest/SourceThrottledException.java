@@ -0,0 +1,82 @@
+package com.notifyhub.ingest;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Raised by a connector when the source asks us to slow down (429, 503 with Retry-After,
+ * or an exhausted GitHub rate limit). {@link PollScheduler} holds the source back for {@link #getRetryAfter()}.
+ */
+public class SourceThrottledException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public SourceThrottledException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * Error handler for {@code WebClient.retrieve().onStatus}: turns throttling responses
+     * into a {@link SourceThrottledException}, any other error into the default exception.
+     */
+    public static Mono<? extends Throwable> fromResponse(ClientResponse response) {
+        Duration retryAfter = retryAfter(response.headers().asHttpHeaders());
+        boolean throttled = response.statusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()
+                || (retryAfter != null && (response.statusCode().value() == HttpStatus.SERVICE_UNAVAILABLE.value()
+                        || response.statusCode().value() == HttpStatus.FORBIDDEN.value()));
+        if (!throttled) {
+            return response.createException();
+        }
+        return response.releaseBody().then(Mono.error(new SourceThrottledException(
+                "Source responded " + response.statusCode().value(), retryAfter)));
+    }
+
+    /**
+     * Reads {@code Retry-After} (seconds or HTTP date) or, failing that, an exhausted
+     * {@code X-RateLimit-Remaining} with its {@code X-RateLimit-Reset} epoch.
+     *
+     * @return how long to wait, or null if the headers do not say
+     */
+    static Duration retryAfter(HttpHeaders headers) {
+        String retryAfter = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (retryAfter != null) {
+            try {
+                return Duration.ofSeconds(Long.parseLong(retryAfter.trim()));
+            } catch (NumberFormatException e) {
+                try {
+                    ZonedDateTime at = ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                    return positive(Duration.between(Instant.now(), at.toInstant()));
+                } catch (Exception ignored) {
+                    // Unparseable, fall through to the rate-limit headers
+                }
+            }
+        }
+
+        String remaining = headers.getFirst("X-RateLimit-Remaining");
+        String reset = headers.getFirst("X-RateLimit-Reset");
+        if ("0".equals(remaining) && reset != null) {
+            try {
+                return positive(Duration.between(Instant.now(), Instant.ofEpochSecond(Long.parseLong(reset.trim()))));
+            } catch (NumberFormatException ignored) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static Duration positive(Duration duration) {
+        return duration.isNegative() ? Duration.ZERO : duration;
+    }
+}
@@ -0,0 +1,173 @@
+package com.notifyhub.ingest;
+
+import com.notifyhub.model.SourcePollState;
+import com.notifyhub.repository.SourcePollStateRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+/**
+ * HTTP validators (ETag / Last-Modified) and high-water marks per polled source.
+ * Requests go out conditional, and a 304 completes empty without a body to parse.
+ * New state from a poll is staged and only committed by {@link IngestService} once the poll's events
+ * are stored, so a failed pipeline never hides entries behind a 304 or a high-water mark.
+ * Committed state is kept in memory and persisted to {@code source_poll_state}.
+ */
+@Slf4j
+@Component
+public class ValidatorStore {
+
+    private final SourcePollStateRepository repository;
+    private final Map<String, SourcePollState> committed = new ConcurrentHashMap<>();
+    private final Map<String, SourcePollState> staged = new ConcurrentHashMap<>();
+    private final Counter notModified;
+    private final Counter modified;
+    private final Counter bytesSaved;
+
+    public ValidatorStore(SourcePollStateRepository repository, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.notModified = Counter.builder("notifyhub.ingest.conditional.requests")
+                .tag("result", "not_modified")
+                .register(meterRegistry);
+        this.modified = Counter.builder("notifyhub.ingest.conditional.requests")
+                .tag("result", "modified")
+                .register(meterRegistry);
+        this.bytesSaved = Counter.builder("notifyhub.ingest.conditional.bytes.saved")
+                .description("Response bytes not transferred thanks to 304 responses, estimated from the last full body")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+
+        Gauge.builder("notifyhub.ingest.conditional.not.modified.ratio", this, ValidatorStore::notModifiedRatio)
+                .register(meterRegistry);
+    }
+
+    public static String keyFor(String sourceType, String params) {
+        return sourceType + "::" + params;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        repository.findAll()
+                .doOnNext(state -> committed.put(state.getSourceKey(), state))
+                .count()
+                .subscribe(
+                        count -> log.info("Loaded poll state of {} sources", count),
+                        e -> log.error("Failed to load source poll state: {}", e.getMessage())
+                );
+    }
+
+    /**
+     * Sends a request with the source's validators and hands the body on as it arrives.
+     * The caller owns (and must release) the buffers, and may cancel once it has read enough.
+     *
+     * @return the response body, or empty if the source answered 304 Not Modified
+     */
+    public Flux<DataBuffer> fetchStream(String key, WebClient.RequestHeadersSpec<?> request) {
+        return Flux.defer(() -> {
+            // Anything left over from a poll that failed downstream is discarded
+            staged.remove(key);
+            SourcePollState state = committed.get(key);
+
+            return request
+                    .headers(headers -> {
+                        if (state == null) return;
+                        if (state.getEtag() != null) headers.set(HttpHeaders.IF_NONE_MATCH, state.getEtag());
+                        if (state.getLastModified() != null) headers.set(HttpHeaders.IF_MODIFIED_SINCE, state.getLastModified());
+                    })
+                    .exchangeToFlux(response -> {
+                        if (response.statusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                            notModified.increment();
+                            if (state != null) {
+                                bytesSaved.increment(state.getBodyBytes());
+                            }
+                            return response.releaseBody().thenMany(Flux.empty());
+                        }
+                        if (response.statusCode().isError()) {
+                            return SourceThrottledException.fromResponse(response).flatMapMany(Flux::error);
+                        }
+
+                        modified.increment();
+                        HttpHeaders headers = response.headers().asHttpHeaders();
+                        stage(key, s -> s
+                                .etag(headers.getETag())
+                                .lastModified(headers.getFirst(HttpHeaders.LAST_MODIFIED)));
+
+                        // A body abandoned early still counts what was read; errors are discarded by the caller
+                        AtomicLong bytes = new AtomicLong();
+                        Runnable stageSize = () -> stage(key, s -> s.bodyBytes(bytes.get()));
+                        return response.bodyToFlux(DataBuffer.class)
+                                .doOnNext(buffer -> bytes.addAndGet(buffer.readableByteCount()))
+                                .doOnComplete(stageSize)
+                                .doOnCancel(stageSize);
+                    });
+        });
+    }
+
+    /**
+     * @return the committed high-water mark of a source, or null before its first successful poll
+     */
+    public String highWaterMark(String key) {
+        SourcePollState state = committed.get(key);
+        return state != null ? state.getHighWaterMark() : null;
+    }
+
+    public void stageHighWaterMark(String key, String highWaterMark) {
+        stage(key, s -> s.highWaterMark(highWaterMark));
+    }
+
+    /**
+     * Drops what a poll staged, for connectors that swallow their own errors.
+     */
+    public void discard(String key) {
+        staged.remove(key);
+    }
+
+    /**
+     * Makes the state staged by the last poll of a source current, and persists it.
+     */
+    public Mono<Void> commit(String key) {
+        return Mono.defer(() -> {
+            SourcePollState state = staged.remove(key);
+            if (state == null) {
+                return Mono.empty();
+            }
+
+            committed.put(key, state);
+            return repository.upsert(state)
+                    .onErrorResume(e -> {
+                        log.error("Failed to persist poll state of {}: {}", key, e.getMessage());
+                        return Mono.empty();
+                    });
+        });
+    }
+
+    private void stage(String key, UnaryOperator<SourcePollState.SourcePollStateBuilder> change) {
+        staged.compute(key, (k, current) -> {
+            SourcePollState base = current != null ? current : committed.get(key);
+            SourcePollState.SourcePollStateBuilder builder = base != null
+                    ? base.toBuilder()
+                    : SourcePollState.builder().sourceKey(key);
+            return change.apply(builder).build();
+        });
+    }
+
+    private double notModifiedRatio() {
+        double total = notModified.count() + modified.count();
+        return total == 0 ? 0.0 : notModified.count() / total;
+    }
+}
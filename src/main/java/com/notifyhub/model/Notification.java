@@ -17,12 +17,17 @@ public class Notification {
     private Long id;
     private Long userId;
     private UUID eventId;
+    // Partition key of the event, so lookups by event touch one partition
+    private LocalDateTime eventCreatedAt;
+    private Long ruleId;
     private String channel;
+    private String priority;
     @Builder.Default
     private String status = "CREATED";
     @Builder.Default
     private Integer attempts = 0;
     private String lastError;
+    private LocalDateTime nextAttemptAt;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
@@ -0,0 +1,23 @@
+package com.notifyhub.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+@Table("source_poll_state")
+public class SourcePollState {
+    @Id
+    private String sourceKey;
+    private String etag;
+    private String lastModified;
+    private String highWaterMark;
+    @Builder.Default
+    private Long bodyBytes = 0L;
+    private LocalDateTime updatedAt;
+}
@@ -19,5 +19,7 @@ public class Subscription {
     private String params;
     @Builder.Default
     private Boolean enabled = true;
+    // Overrides the user's channels when set; see ChannelRouter
+    private String channels;
     private LocalDateTime createdAt;
 }
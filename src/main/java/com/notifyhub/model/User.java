@@ -20,5 +20,7 @@ public class User {
     @Builder.Default
     private String role = "USER";
     private String telegramChatId;
+    // Comma-separated external channels to notify on, null for all; see ChannelRouter
+    private String channels;
     private LocalDateTime createdAt;
 }
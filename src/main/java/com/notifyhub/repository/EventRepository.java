@@ -4,16 +4,23 @@ import com.notifyhub.model.Event;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import reactor.core.publisher.Flux;
-import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.UUID;
 
-public interface EventRepository extends ReactiveCrudRepository<Event, UUID> {
-    Mono<Event> findByExternalId(String externalId);
-    Mono<Boolean> existsByExternalId(String externalId);
+public interface EventRepository extends ReactiveCrudRepository<Event, UUID>, EventRepositoryCustom {
     Flux<Event> findBySourceType(String sourceType);
 
     @Query("SELECT * FROM events WHERE created_at >= :from AND created_at <= :to ORDER BY created_at DESC")
     Flux<Event> findByCreatedAtBetween(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Like {@code findAllById}, but only partitions from {@code since} on are searched.
+     */
+    @Query("SELECT * FROM events WHERE id IN (:ids) AND created_at >= :since")
+    Flux<Event> findAllByIdSince(Collection<UUID> ids, LocalDateTime since);
+
+    @Query("SELECT external_id FROM events WHERE external_id IS NOT NULL ORDER BY created_at DESC LIMIT :limit")
+    Flux<String> findRecentExternalIds(int limit);
 }
@@ -0,0 +1,17 @@
+package com.notifyhub.repository;
+
+import com.notifyhub.model.Event;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+public interface EventRepositoryCustom {
+
+    /**
+     * Inserts events in one multi-row statement, skipping those whose external_id was already seen
+     * (recorded in event_keys for as long as events are retained).
+     *
+     * @return only the rows that were actually inserted, with generated ids
+     */
+    Flux<Event> insertIgnoringDuplicates(List<Event> events);
+}
@@ -0,0 +1,99 @@
+package com.notifyhub.repository;
+
+import com.notifyhub.model.Event;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+@RequiredArgsConstructor
+public class EventRepositoryCustomImpl implements EventRepositoryCustom {
+
+    // 6 bind parameters per row keeps a full chunk well below the protocol limit
+    private static final int MAX_ROWS_PER_STATEMENT = 1000;
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Flux<Event> insertIgnoringDuplicates(List<Event> events) {
+        if (events.isEmpty()) {
+            return Flux.empty();
+        }
+        if (events.size() > MAX_ROWS_PER_STATEMENT) {
+            return Flux.fromIterable(chunks(events))
+                    .concatMap(this::insertChunk);
+        }
+        return insertChunk(events);
+    }
+
+    private Flux<Event> insertChunk(List<Event> events) {
+        // external_id cannot be unique across partitions of events: event_keys claims it first,
+        // and only rows whose key was claimed (or that have none) are inserted
+        StringBuilder sql = new StringBuilder(
+                "WITH v (source_type, external_id, title, payload_json, priority, created_at) AS (VALUES ");
+        for (int i = 0; i < events.size(); i++) {
+            if (i > 0) sql.append(", ");
+            sql.append("(CAST(:sourceType").append(i).append(" AS VARCHAR)")
+                    .append(", CAST(:externalId").append(i).append(" AS VARCHAR)")
+                    .append(", CAST(:title").append(i).append(" AS VARCHAR)")
+                    .append(", CAST(:payloadJson").append(i).append(" AS TEXT)")
+                    .append(", CAST(:priority").append(i).append(" AS VARCHAR)")
+                    .append(", CAST(:createdAt").append(i).append(" AS TIMESTAMP))");
+        }
+        sql.append("""
+                ), claimed AS (
+                    INSERT INTO event_keys (external_id, created_at)
+                    SELECT DISTINCT ON (external_id) external_id, created_at FROM v WHERE external_id IS NOT NULL
+                    ON CONFLICT (external_id) DO NOTHING
+                    RETURNING external_id
+                )
+                INSERT INTO events (source_type, external_id, title, payload_json, priority, created_at)
+                SELECT DISTINCT ON (v.external_id) v.* FROM v JOIN claimed USING (external_id)
+                UNION ALL
+                SELECT * FROM v WHERE v.external_id IS NULL
+                RETURNING id, source_type, external_id, title, payload_json, priority, created_at""");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        for (int i = 0; i < events.size(); i++) {
+            Event e = events.get(i);
+            spec = bind(spec, "sourceType" + i, e.getSourceType(), String.class);
+            spec = bind(spec, "externalId" + i, e.getExternalId(), String.class);
+            spec = bind(spec, "title" + i, e.getTitle(), String.class);
+            spec = bind(spec, "payloadJson" + i, e.getPayloadJson(), String.class);
+            spec = bind(spec, "priority" + i, e.getPriority() != null ? e.getPriority() : "MEDIUM", String.class);
+            spec = bind(spec, "createdAt" + i, e.getCreatedAt() != null ? e.getCreatedAt() : LocalDateTime.now(), LocalDateTime.class);
+        }
+
+        return spec.map(EventRepositoryCustomImpl::toEvent).all();
+    }
+
+    static Event toEvent(Readable row) {
+        return Event.builder()
+                .id(row.get("id", UUID.class))
+                .sourceType(row.get("source_type", String.class))
+                .externalId(row.get("external_id", String.class))
+                .title(row.get("title", String.class))
+                .payloadJson(row.get("payload_json", String.class))
+                .priority(row.get("priority", String.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .build();
+    }
+
+    static DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec,
+                                                  String name, Object value, Class<?> type) {
+        return value != null ? spec.bind(name, value) : spec.bindNull(name, type);
+    }
+
+    private static <T> List<List<T>> chunks(List<T> items) {
+        int count = (items.size() + MAX_ROWS_PER_STATEMENT - 1) / MAX_ROWS_PER_STATEMENT;
+        return IntStream.range(0, count)
+                .mapToObj(c -> items.subList(c * MAX_ROWS_PER_STATEMENT,
+                        Math.min(items.size(), (c + 1) * MAX_ROWS_PER_STATEMENT)))
+                .toList();
+    }
+}
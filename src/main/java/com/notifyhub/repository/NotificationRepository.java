@@ -4,23 +4,23 @@ import com.notifyhub.model.Notification;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import reactor.core.publisher.Flux;
-import reactor.core.publisher.Mono;
 
-import java.time.LocalDateTime;
-
-public interface NotificationRepository extends ReactiveCrudRepository<Notification, Long> {
+public interface NotificationRepository extends ReactiveCrudRepository<Notification, Long>, NotificationRepositoryCustom {
     Flux<Notification> findByUserId(Long userId);
     Flux<Notification> findByUserIdAndStatus(Long userId, String status);
 
-    @Query("SELECT * FROM notifications WHERE user_id = :userId AND created_at >= :from AND created_at <= :to ORDER BY created_at DESC")
-    Flux<Notification> findByUserIdAndCreatedAtBetween(Long userId, LocalDateTime from, LocalDateTime to);
-
-    @Query("SELECT * FROM notifications WHERE user_id = :userId ORDER BY created_at DESC LIMIT :limit OFFSET :offset")
-    Flux<Notification> findByUserIdPaginated(Long userId, int limit, long offset);
-
-    @Query("SELECT COUNT(*) FROM notifications WHERE user_id = :userId AND channel = :channel AND created_at >= :since")
-    Mono<Long> countByUserIdAndChannelSince(Long userId, String channel, LocalDateTime since);
-
-    @Query("SELECT * FROM notifications WHERE user_id = :userId AND status = :status ORDER BY created_at DESC LIMIT :limit OFFSET :offset")
-    Flux<Notification> findByUserIdAndStatusPaginated(Long userId, String status, int limit, long offset);
+    /**
+     * Claims due outbox rows for delivery. Claimed rows are leased by pushing next_attempt_at
+     * into the future, so other workers and instances skip them until the lease expires.
+     */
+    @Query("""
+            UPDATE notifications
+               SET status = 'QUEUED', next_attempt_at = NOW() + :leaseSeconds * INTERVAL '1 second', updated_at = NOW()
+             WHERE id IN (SELECT id FROM notifications
+                           WHERE status IN ('CREATED', 'QUEUED') AND channel <> 'UI' AND next_attempt_at <= NOW()
+                           ORDER BY next_attempt_at
+                           LIMIT :limit
+                           FOR UPDATE SKIP LOCKED)
+            RETURNING *""")
+    Flux<Notification> claimDue(int limit, int leaseSeconds);
 }
@@ -0,0 +1,83 @@
+package com.notifyhub.repository;
+
+import com.notifyhub.model.Event;
+import com.notifyhub.model.Notification;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface NotificationRepositoryCustom {
+
+    /**
+     * Inserts notifications with one multi-row statement per chunk.
+     *
+     * @return inserted rows with generated ids
+     */
+    Flux<Notification> insertAll(List<Notification> notifications);
+
+    /**
+     * Applies many status transitions with a single UPDATE ... FROM (VALUES ...) per chunk.
+     * Every transition counts one delivery attempt.
+     *
+     * @return number of rows updated
+     */
+    Mono<Integer> applyTransitions(List<StatusTransition> transitions);
+
+    /**
+     * UI notifications created by a rule that are still inside that rule's rate-limit hour
+     * or dedup window, with the fields of their event the rule limiter needs.
+     */
+    Flux<RuleHit> findRecentRuleHits(LocalDateTime now);
+
+    /**
+     * Newest-first page of a user's notifications joined to their events in one query.
+     * Pages are cut by keyset on (created_at, id), so deep pages cost the same as the first.
+     *
+     * @param status null for any status
+     * @param from   inclusive lower bound on created_at, null for none
+     * @param to     inclusive upper bound on created_at, null for none
+     * @param after  last row of the previous page, null for the first page
+     */
+    Flux<NotificationWithEvent> findPage(Long userId, String status, LocalDateTime from, LocalDateTime to,
+                                         Cursor after, int limit);
+
+    /**
+     * @param error         stored as last_error, null clears it
+     * @param nextAttemptAt new retry time, null keeps the current one
+     */
+    record StatusTransition(Long id, String status, String error, LocalDateTime nextAttemptAt) {}
+
+    /**
+     * Position in a newest-first listing, written as {@code <createdAt>,<id>}.
+     */
+    record Cursor(LocalDateTime createdAt, Long id) {
+
+        public static Cursor parse(String value) {
+            int comma = value.lastIndexOf(',');
+            if (comma < 0) {
+                throw new IllegalArgumentException("Cursor must be <createdAt>,<id>: " + value);
+            }
+            try {
+                return new Cursor(LocalDateTime.parse(value.substring(0, comma).trim()),
+                        Long.parseLong(value.substring(comma + 1).trim()));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Cursor must be <createdAt>,<id>: " + value, e);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return createdAt + "," + id;
+        }
+    }
+
+    /**
+     * @param event null if the notification has no event
+     */
+    record NotificationWithEvent(Notification notification, Event event) {}
+
+    record RuleHit(Long userId, Long ruleId, int dedupWindowMinutes, String sourceType, String title,
+                   LocalDateTime createdAt) {}
+}
@@ -0,0 +1,180 @@
+package com.notifyhub.repository;
+
+import com.notifyhub.model.Event;
+import com.notifyhub.model.Notification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.r2dbc.convert.R2dbcConverter;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+import static com.notifyhub.repository.EventRepositoryCustomImpl.bind;
+
+@RequiredArgsConstructor
+public class NotificationRepositoryCustomImpl implements NotificationRepositoryCustom {
+
+    // 11 bind parameters per row keeps a full chunk well below the protocol limit
+    private static final int MAX_ROWS_PER_STATEMENT = 1000;
+
+    private final DatabaseClient databaseClient;
+    private final R2dbcConverter converter;
+
+    @Override
+    public Flux<Notification> insertAll(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return Flux.empty();
+        }
+
+        return chunks(notifications).concatMap(this::insertChunk);
+    }
+
+    @Override
+    public Mono<Integer> applyTransitions(List<StatusTransition> transitions) {
+        if (transitions.isEmpty()) {
+            return Mono.just(0);
+        }
+
+        return chunks(transitions)
+                .concatMap(this::applyChunk)
+                .reduce(0, Integer::sum);
+    }
+
+    @Override
+    public Flux<RuleHit> findRecentRuleHits(LocalDateTime now) {
+        return databaseClient.sql("""
+                        SELECT n.user_id, n.rule_id, r.dedup_window_minutes, e.source_type, e.title, n.created_at
+                          FROM notifications n
+                          JOIN rules r ON r.id = n.rule_id
+                          JOIN events e ON e.id = n.event_id AND e.created_at = n.event_created_at
+                         WHERE n.channel = 'UI'
+                           AND n.created_at >= CAST(:now AS TIMESTAMP)
+                               - GREATEST(60, COALESCE(r.dedup_window_minutes, 0)) * INTERVAL '1 minute'""")
+                .bind("now", now)
+                .map(row -> new RuleHit(
+                        row.get("user_id", Long.class),
+                        row.get("rule_id", Long.class),
+                        Objects.requireNonNullElse(row.get("dedup_window_minutes", Integer.class), 0),
+                        row.get("source_type", String.class),
+                        row.get("title", String.class),
+                        row.get("created_at", LocalDateTime.class)))
+                .all();
+    }
+
+    @Override
+    public Flux<NotificationWithEvent> findPage(Long userId, String status, LocalDateTime from, LocalDateTime to,
+                                                Cursor after, int limit) {
+        // Served by idx_notifications_user_created: (user_id, created_at DESC, id DESC)
+        StringBuilder sql = new StringBuilder("""
+                SELECT n.*, e.source_type AS event_source_type, e.title AS event_title,
+                       e.payload_json AS event_payload_json, e.priority AS event_priority
+                  FROM notifications n
+                  LEFT JOIN events e ON e.id = n.event_id AND e.created_at = n.event_created_at
+                 WHERE n.user_id = :userId""");
+        if (status != null) sql.append(" AND n.status = :status");
+        if (from != null) sql.append(" AND n.created_at >= :from");
+        if (to != null) sql.append(" AND n.created_at <= :to");
+        if (after != null) sql.append(" AND (n.created_at, n.id) < (:afterCreatedAt, :afterId)");
+        sql.append(" ORDER BY n.created_at DESC, n.id DESC LIMIT :limit");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString())
+                .bind("userId", userId)
+                .bind("limit", limit);
+        if (status != null) spec = spec.bind("status", status);
+        if (from != null) spec = spec.bind("from", from);
+        if (to != null) spec = spec.bind("to", to);
+        if (after != null) {
+            spec = spec.bind("afterCreatedAt", after.createdAt()).bind("afterId", after.id());
+        }
+
+        return spec.map((row, metadata) -> {
+            Notification n = converter.read(Notification.class, row, metadata);
+            // LEFT JOIN: no event row means no event
+            Event event = row.get("event_source_type") == null ? null : Event.builder()
+                    .id(n.getEventId())
+                    .sourceType(row.get("event_source_type", String.class))
+                    .title(row.get("event_title", String.class))
+                    .payloadJson(row.get("event_payload_json", String.class))
+                    .priority(row.get("event_priority", String.class))
+                    .build();
+            return new NotificationWithEvent(n, event);
+        }).all();
+    }
+
+    private Mono<Integer> applyChunk(List<StatusTransition> transitions) {
+        StringBuilder sql = new StringBuilder("""
+                UPDATE notifications AS n
+                   SET status = v.status, attempts = n.attempts + 1, last_error = v.last_error,
+                       next_attempt_at = COALESCE(v.next_attempt_at, n.next_attempt_at), updated_at = NOW()
+                  FROM (VALUES\s""");
+        for (int i = 0; i < transitions.size(); i++) {
+            if (i > 0) sql.append(", ");
+            sql.append("(CAST(:id").append(i).append(" AS BIGINT)")
+                    .append(", CAST(:status").append(i).append(" AS VARCHAR)")
+                    .append(", CAST(:error").append(i).append(" AS TEXT)")
+                    .append(", CAST(:nextAttemptAt").append(i).append(" AS TIMESTAMP))");
+        }
+        sql.append(") AS v(id, status, last_error, next_attempt_at) WHERE n.id = v.id");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        for (int i = 0; i < transitions.size(); i++) {
+            StatusTransition t = transitions.get(i);
+            spec = bind(spec, "id" + i, t.id(), Long.class);
+            spec = bind(spec, "status" + i, t.status(), String.class);
+            spec = bind(spec, "error" + i, t.error(), String.class);
+            spec = bind(spec, "nextAttemptAt" + i, t.nextAttemptAt(), LocalDateTime.class);
+        }
+
+        return spec.fetch().rowsUpdated().map(Long::intValue);
+    }
+
+    private static <T> Flux<List<T>> chunks(List<T> items) {
+        int count = (items.size() + MAX_ROWS_PER_STATEMENT - 1) / MAX_ROWS_PER_STATEMENT;
+        return Flux.range(0, count)
+                .map(c -> items.subList(c * MAX_ROWS_PER_STATEMENT,
+                        Math.min(items.size(), (c + 1) * MAX_ROWS_PER_STATEMENT)));
+    }
+
+    private Flux<Notification> insertChunk(List<Notification> rows) {
+        StringBuilder sql = new StringBuilder("INSERT INTO notifications "
+                + "(user_id, event_id, event_created_at, rule_id, channel, priority, status, attempts, next_attempt_at, created_at, updated_at) VALUES ");
+        for (int i = 0; i < rows.size(); i++) {
+            if (i > 0) sql.append(", ");
+            sql.append("(:userId").append(i)
+                    .append(", :eventId").append(i)
+                    .append(", :eventCreatedAt").append(i)
+                    .append(", :ruleId").append(i)
+                    .append(", :channel").append(i)
+                    .append(", :priority").append(i)
+                    .append(", :status").append(i)
+                    .append(", :attempts").append(i)
+                    .append(", :nextAttemptAt").append(i)
+                    .append(", :createdAt").append(i)
+                    .append(", :updatedAt").append(i).append(")");
+        }
+        sql.append(" RETURNING *");
+
+        LocalDateTime now = LocalDateTime.now();
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        for (int i = 0; i < rows.size(); i++) {
+            Notification n = rows.get(i);
+            spec = bind(spec, "userId" + i, n.getUserId(), Long.class);
+            spec = bind(spec, "eventId" + i, n.getEventId(), UUID.class);
+            spec = bind(spec, "eventCreatedAt" + i, n.getEventCreatedAt(), LocalDateTime.class);
+            spec = bind(spec, "ruleId" + i, n.getRuleId(), Long.class);
+            spec = bind(spec, "channel" + i, n.getChannel(), String.class);
+            spec = bind(spec, "priority" + i, n.getPriority(), String.class);
+            spec = bind(spec, "status" + i, n.getStatus() != null ? n.getStatus() : "CREATED", String.class);
+            spec = bind(spec, "attempts" + i, n.getAttempts() != null ? n.getAttempts() : 0, Integer.class);
+            spec = bind(spec, "nextAttemptAt" + i, n.getNextAttemptAt() != null ? n.getNextAttemptAt() : now, LocalDateTime.class);
+            spec = bind(spec, "createdAt" + i, n.getCreatedAt() != null ? n.getCreatedAt() : now, LocalDateTime.class);
+            spec = bind(spec, "updatedAt" + i, n.getUpdatedAt() != null ? n.getUpdatedAt() : now, LocalDateTime.class);
+        }
+
+        return spec.map((row, metadata) -> converter.read(Notification.class, row, metadata)).all();
+    }
+}
@@ -0,0 +1,7 @@
+package com.notifyhub.repository;
+
+import com.notifyhub.model.SourcePollState;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+
+public interface SourcePollStateRepository extends ReactiveCrudRepository<SourcePollState, String>, SourcePollStateRepositoryCustom {
+}
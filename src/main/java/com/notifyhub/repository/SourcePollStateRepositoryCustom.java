@@ -0,0 +1,12 @@
+package com.notifyhub.repository;
+
+import com.notifyhub.model.SourcePollState;
+import reactor.core.publisher.Mono;
+
+public interface SourcePollStateRepositoryCustom {
+
+    /**
+     * Inserts or replaces the state of a source; the key is assigned by the caller.
+     */
+    Mono<Void> upsert(SourcePollState state);
+}
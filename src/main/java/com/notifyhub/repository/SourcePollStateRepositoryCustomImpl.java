@@ -0,0 +1,31 @@
+package com.notifyhub.repository;
+
+import com.notifyhub.model.SourcePollState;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+import static com.notifyhub.repository.EventRepositoryCustomImpl.bind;
+
+@RequiredArgsConstructor
+public class SourcePollStateRepositoryCustomImpl implements SourcePollStateRepositoryCustom {
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Mono<Void> upsert(SourcePollState state) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("""
+                INSERT INTO source_poll_state (source_key, etag, last_modified, high_water_mark, body_bytes, updated_at)
+                VALUES (:sourceKey, :etag, :lastModified, :highWaterMark, :bodyBytes, NOW())
+                ON CONFLICT (source_key) DO UPDATE
+                   SET etag = EXCLUDED.etag, last_modified = EXCLUDED.last_modified,
+                       high_water_mark = EXCLUDED.high_water_mark, body_bytes = EXCLUDED.body_bytes, updated_at = NOW()""");
+        spec = bind(spec, "sourceKey", state.getSourceKey(), String.class);
+        spec = bind(spec, "etag", state.getEtag(), String.class);
+        spec = bind(spec, "lastModified", state.getLastModified(), String.class);
+        spec = bind(spec, "highWaterMark", state.getHighWaterMark(), String.class);
+        spec = bind(spec, "bodyBytes", state.getBodyBytes() != null ? state.getBodyBytes() : 0L, Long.class);
+
+        return spec.then();
+    }
+}
@@ -22,6 +22,8 @@ public class AuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    private final UserProfileCache userProfileCache;
+    private final StatsService statsService;
 
     public Mono<AuthResponse> register(RegisterRequest request) {
         return userRepository.existsByUsername(request.getUsername())
@@ -44,6 +46,8 @@ public class AuthService {
                             .build();
                     return userRepository.save(user);
                 })
+                .doOnNext(userProfileCache::put)
+                .doOnNext(user -> statsService.userRegistered())
                 .map(user -> {
                     String token = jwtUtil.generateToken(user);
                     log.info("User registered: {}", user.getUsername());
@@ -0,0 +1,91 @@
+package com.notifyhub.service;
+
+import com.notifyhub.delivery.ChannelRouter;
+import com.notifyhub.dto.ChannelPreferencesDto;
+import com.notifyhub.model.Subscription;
+import com.notifyhub.repository.SubscriptionRepository;
+import com.notifyhub.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Reads and changes the channels users and subscriptions are notified on, see {@link ChannelRouter}.
+ * A user's change applies to the next fan-out, as the cached profile is replaced; a subscription's once
+ * the poll scheduler reloads subscriptions ({@code app.ingest.scheduler.refresh-seconds}).
+ * Invalid channel names fail with {@link IllegalArgumentException}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChannelPreferenceService {
+
+    private final UserRepository userRepository;
+    private final SubscriptionRepository subscriptionRepository;
+    private final UserProfileCache userProfileCache;
+    private final ChannelRouter channelRouter;
+
+    public Mono<ChannelPreferencesDto> forUser(Long userId) {
+        return userProfileCache.get(userId)
+                .switchIfEmpty(Mono.error(new RuntimeException("User not found")))
+                .map(user -> new ChannelPreferencesDto(toList(user.channels()), channelRouter.available(user)));
+    }
+
+    /**
+     * @param channels null to notify on every channel
+     */
+    public Mono<ChannelPreferencesDto> updateUser(Long userId, List<String> channels) {
+        return Mono.fromCallable(() -> Optional.ofNullable(channelRouter.toStored(channels)))
+                .flatMap(stored -> userRepository.findById(userId)
+                        .switchIfEmpty(Mono.error(new RuntimeException("User not found")))
+                        .flatMap(user -> {
+                            user.setChannels(stored.orElse(null));
+                            return userRepository.save(user);
+                        }))
+                .doOnNext(user -> {
+                    userProfileCache.put(user);
+                    log.info("Channels of user {} set to {}", userId, user.getChannels());
+                })
+                .then(forUser(userId));
+    }
+
+    public Mono<ChannelPreferencesDto> forSubscription(Long userId, Long subscriptionId) {
+        return ownSubscription(userId, subscriptionId)
+                .flatMap(subscription -> toDto(userId, subscription));
+    }
+
+    /**
+     * @param channels null to use the user's channels
+     */
+    public Mono<ChannelPreferencesDto> updateSubscription(Long userId, Long subscriptionId, List<String> channels) {
+        return Mono.fromCallable(() -> Optional.ofNullable(channelRouter.toStored(channels)))
+                .flatMap(stored -> ownSubscription(userId, subscriptionId)
+                        .flatMap(subscription -> {
+                            subscription.setChannels(stored.orElse(null));
+                            return subscriptionRepository.save(subscription);
+                        }))
+                .doOnNext(s -> log.info("Channels of subscription {} set to {}", s.getId(), s.getChannels()))
+                .flatMap(subscription -> toDto(userId, subscription));
+    }
+
+    private Mono<Subscription> ownSubscription(Long userId, Long subscriptionId) {
+        return subscriptionRepository.findById(subscriptionId)
+                .filter(s -> s.getUserId().equals(userId))
+                .switchIfEmpty(Mono.error(new RuntimeException("Subscription not found")));
+    }
+
+    private Mono<ChannelPreferencesDto> toDto(Long userId, Subscription subscription) {
+        return userProfileCache.get(userId)
+                .map(user -> new ChannelPreferencesDto(
+                        toList(ChannelRouter.parse(subscription.getChannels())), channelRouter.available(user)));
+    }
+
+    static List<String> toList(Set<String> channels) {
+        return channels != null ? channels.stream().sorted().toList() : null;
+    }
+}
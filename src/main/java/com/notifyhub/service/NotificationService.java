@@ -3,82 +3,153 @@ package com.notifyhub.service;
 import com.notifyhub.dto.NotificationDto;
 import com.notifyhub.model.Event;
 import com.notifyhub.model.Notification;
-import com.notifyhub.repository.EventRepository;
 import com.notifyhub.repository.NotificationRepository;
-import lombok.RequiredArgsConstructor;
+import com.notifyhub.repository.NotificationRepositoryCustom.Cursor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
-import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class NotificationService {
 
     private final NotificationRepository notificationRepository;
-    private final EventRepository eventRepository;
     private final NotificationSinkService sinkService;
+    private final StatsService statsService;
+    private final Timer insertTimer;
+    private final Counter droppedCounter;
+
+    @Value("${app.notifications.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.notifications.max-linger-ms:50}")
+    private long maxLingerMs;
+
+    public NotificationService(NotificationRepository notificationRepository,
+                               NotificationSinkService sinkService,
+                               StatsService statsService,
+                               MeterRegistry meterRegistry) {
+        this.notificationRepository = notificationRepository;
+        this.sinkService = sinkService;
+        this.statsService = statsService;
+        this.insertTimer = Timer.builder("notifyhub.notifications.insert")
+                .description("Multi-row insert of one batch of notifications")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("notifyhub.notifications.dropped")
+                .description("Notifications that could not be inserted, even on their own")
+                .register(meterRegistry);
+    }
 
     /**
-     * Creates a notification, saves to DB, and pushes to SSE stream if channel is UI.
+     * A notification to be created for one recipient and channel.
+     *
+     * @param ruleId   rule that let the event through, null when the subscription has no rules
+     * @param priority effective priority after rule evaluation
      */
-    public Mono<Notification> createAndDeliver(Long userId, Event event, String channel) {
-        Notification notification = Notification.builder()
-                .userId(userId)
-                .eventId(event.getId())
-                .channel(channel)
-                .status("CREATED")
-                .attempts(0)
-                .createdAt(LocalDateTime.now())
-                .updatedAt(LocalDateTime.now())
-                .build();
+    public record Draft(Long userId, Event event, String channel, Long ruleId, String priority) {}
 
-        return notificationRepository.save(notification)
-                .doOnNext(saved -> {
-                    if ("UI".equals(channel)) {
-                        NotificationDto dto = toDto(saved, event);
-                        sinkService.push(dto);
-                    }
-                    log.debug("Notification created: id={}, userId={}, channel={}", saved.getId(), userId, channel);
-                });
+    /**
+     * Creates notifications from a stream of drafts, grouping them into micro-batches
+     * of at most {@code batch-size} rows or {@code max-linger-ms} of waiting.
+     * A batch that fails is retried row by row, and rows that still fail are logged, counted as
+     * {@code notifyhub.notifications.dropped} and skipped: by now the events are stored and will not be polled again,
+     * so failing the stream would lose the notifications of the whole poll.
+     */
+    public Flux<Notification> createAll(Flux<Draft> drafts) {
+        return drafts
+                // Fair backpressure: the linger timer never emits a batch nobody requested while an insert is running
+                .bufferTimeout(batchSize, Duration.ofMillis(maxLingerMs), true)
+                .concatMap(batch -> createAll(batch)
+                        .onErrorResume(e -> {
+                            log.warn("Insert of {} notifications failed, retrying one by one: {}", batch.size(), e.getMessage());
+                            return Flux.fromIterable(batch).concatMap(this::createOne);
+                        }));
     }
 
-    public Mono<Notification> updateStatus(Long notificationId, String status, String error) {
-        return notificationRepository.findById(notificationId)
-                .flatMap(n -> {
-                    n.setStatus(status);
-                    n.setUpdatedAt(LocalDateTime.now());
-                    n.setAttempts(n.getAttempts() + 1);
-                    if (error != null) n.setLastError(error);
-                    return notificationRepository.save(n);
+    private Flux<Notification> createOne(Draft draft) {
+        return createAll(List.of(draft))
+                .onErrorResume(e -> {
+                    droppedCounter.increment();
+                    log.error("Dropped {} notification of event {} for user {}: {}",
+                            draft.channel(), draft.event().getId(), draft.userId(), e.getMessage());
+                    return Flux.empty();
                 });
     }
 
-    public Flux<NotificationDto> findByUserId(Long userId, int page, int size) {
-        return notificationRepository.findByUserIdPaginated(userId, size, (long) page * size)
-                .flatMap(this::enrichWithEvent);
-    }
+    /**
+     * Creates notifications with one multi-row insert. UI notifications are pushed to SSE
+     * only after the insert has committed; rows of external channels are picked up
+     * by the delivery outbox from that point on.
+     */
+    public Flux<Notification> createAll(List<Draft> drafts) {
+        if (drafts.isEmpty()) {
+            return Flux.empty();
+        }
 
-    public Flux<NotificationDto> findByUserIdAndStatus(Long userId, String status, int page, int size) {
-        return notificationRepository.findByUserIdAndStatusPaginated(userId, status, size, (long) page * size)
-                .flatMap(this::enrichWithEvent);
-    }
+        LocalDateTime now = LocalDateTime.now();
+        Map<UUID, Event> events = new HashMap<>();
+        List<Notification> rows = new ArrayList<>(drafts.size());
+        for (Draft draft : drafts) {
+            events.putIfAbsent(draft.event().getId(), draft.event());
+            rows.add(Notification.builder()
+                    .userId(draft.userId())
+                    .eventId(draft.event().getId())
+                    .eventCreatedAt(draft.event().getCreatedAt())
+                    .ruleId(draft.ruleId())
+                    .channel(draft.channel())
+                    .priority(draft.priority())
+                    .status("CREATED")
+                    .attempts(0)
+                    .nextAttemptAt(now)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+        }
 
-    public Flux<NotificationDto> findByUserIdBetween(Long userId, LocalDateTime from, LocalDateTime to) {
-        return notificationRepository.findByUserIdAndCreatedAtBetween(userId, from, to)
-                .flatMap(this::enrichWithEvent);
+        return Flux.defer(() -> {
+            long started = System.nanoTime();
+            return notificationRepository.insertAll(rows)
+                    .collectList()
+                    .doOnNext(saved -> {
+                        insertTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                        statsService.notificationsCreated(saved.size());
+                        for (Notification n : saved) {
+                            if ("UI".equals(n.getChannel())) {
+                                sinkService.push(toDto(n, events.get(n.getEventId())));
+                            }
+                        }
+                        log.debug("Notifications created: {} rows for {} events", saved.size(), events.size());
+                    })
+                    .flatMapIterable(saved -> saved);
+        });
     }
 
-    private Mono<NotificationDto> enrichWithEvent(Notification n) {
-        if (n.getEventId() == null) {
-            return Mono.just(toDto(n, null));
-        }
-        return eventRepository.findById(n.getEventId())
-                .map(event -> toDto(n, event))
-                .defaultIfEmpty(toDto(n, null));
+    /**
+     * Newest-first page of a user's notifications with their event details.
+     *
+     * @param status optional status filter
+     * @param from   optional inclusive lower bound on creation time
+     * @param to     optional inclusive upper bound on creation time
+     * @param after  last item of the previous page, null for the first page
+     */
+    public Flux<NotificationDto> findPage(Long userId, String status, LocalDateTime from, LocalDateTime to,
+                                          Cursor after, int size) {
+        return notificationRepository.findPage(userId, status, from, to, after, size)
+                .map(row -> toDto(row.notification(), row.event()));
     }
 
     private NotificationDto toDto(Notification n, Event event) {
@@ -93,7 +164,7 @@ public class NotificationService {
                 .createdAt(n.getCreatedAt())
                 .eventTitle(event != null ? event.getTitle() : null)
                 .eventSourceType(event != null ? event.getSourceType() : null)
-                .eventPriority(event != null ? event.getPriority() : null)
+                .eventPriority(n.getPriority() != null ? n.getPriority() : event != null ? event.getPriority() : null)
                 .eventPayloadJson(event != null ? event.getPayloadJson() : null)
                 .build();
     }
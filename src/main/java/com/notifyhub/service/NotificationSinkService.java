@@ -1,34 +1,118 @@
 package com.notifyhub.service;
 
 import com.notifyhub.dto.NotificationDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.BufferOverflowStrategy;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Sinks;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
- * Global notification sink for SSE streaming.
- * Pushes notifications to connected users via Server-Sent Events.
+ * Per-user notification sinks for SSE streaming.
+ * A sink is created when a user's first SSE connection subscribes and removed when the last one cancels,
+ * so pushing a notification is a single map lookup. Every connection has its own bounded buffer
+ * and overflow policy: a slow reader only drops its own messages.
+ * Lost messages are counted as {@code notifyhub.sse.emit.failures}, by emit result or {@code BUFFER_OVERFLOW};
+ * users with an open connection are gauged as {@code notifyhub.sse.users}.
  */
 @Slf4j
 @Service
 public class NotificationSinkService {
 
-    private final Sinks.Many<NotificationDto> sink = Sinks.many().multicast().onBackpressureBuffer(1000);
+    private final Map<Long, UserSink> sinks = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final Counter overflows;
+
+    @Value("${app.sse.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${app.sse.overflow-strategy:DROP_OLDEST}")
+    private BufferOverflowStrategy overflowStrategy;
+
+    public NotificationSinkService(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.overflows = emitFailures("BUFFER_OVERFLOW");
+        Gauge.builder("notifyhub.sse.users", sinks, Map::size)
+                .description("Users with at least one open SSE connection")
+                .register(meterRegistry);
+    }
 
     public void push(NotificationDto notification) {
-        Sinks.EmitResult result = sink.tryEmitNext(notification);
-        if (result.isFailure()) {
-            log.warn("Failed to emit notification to sink: {}", result);
+        UserSink userSink = sinks.get(notification.getUserId());
+        if (userSink == null) {
+            return; // User has no open SSE connection
+        }
+
+        Sinks.EmitResult result = userSink.emit(notification);
+        // Zero subscribers only happens while a connection is still being set up or torn down
+        if (result.isFailure() && result != Sinks.EmitResult.FAIL_ZERO_SUBSCRIBER) {
+            emitFailures(result.name()).increment();
+            log.warn("Failed to emit notification to sink of user {}: {}", notification.getUserId(), result);
         }
     }
 
     /**
      * Stream notifications for a specific user.
-     * Filters the global stream to only include notifications for the given userId.
      */
     public Flux<NotificationDto> streamForUser(Long userId) {
-        return sink.asFlux()
-                .filter(n -> n.getUserId().equals(userId));
+        return Flux.defer(() -> {
+            UserSink userSink = acquire(userId);
+            return userSink.sink.asFlux()
+                    .onBackpressureBuffer(bufferSize,
+                            dropped -> {
+                                overflows.increment();
+                                log.warn("SSE buffer full for user {}, dropped notification {}", userId, dropped.getId());
+                            },
+                            overflowStrategy)
+                    .doFinally(signal -> release(userId, userSink));
+        });
+    }
+
+    private Counter emitFailures(String reason) {
+        return Counter.builder("notifyhub.sse.emit.failures")
+                .description("Notifications that did not reach an open SSE connection")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private UserSink acquire(Long userId) {
+        return sinks.compute(userId, (id, existing) -> {
+            UserSink userSink = existing != null ? existing : new UserSink();
+            userSink.subscribers++;
+            return userSink;
+        });
+    }
+
+    private void release(Long userId, UserSink userSink) {
+        sinks.computeIfPresent(userId, (id, current) -> {
+            if (current != userSink) {
+                return current;
+            }
+            if (--current.subscribers > 0) {
+                return current;
+            }
+            current.sink.tryEmitComplete();
+            return null;
+        });
+    }
+
+    private static final class UserSink {
+
+        // Every subscriber buffers on its own side, so the sink itself never holds messages
+        private final Sinks.Many<NotificationDto> sink = Sinks.many().multicast().directBestEffort();
+
+        // Guarded by the map's per-key compute
+        private int subscribers;
+
+        synchronized Sinks.EmitResult emit(NotificationDto notification) {
+            return sink.tryEmitNext(notification);
+        }
     }
 }
@@ -0,0 +1,112 @@
+package com.notifyhub.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Maintains the daily partitions of {@code events} and {@code notifications}.
+ * Partitions are created {@code precreate-days} ahead; partitions that end more than {@code retention-days}
+ * ago are dropped, or detached and left as plain tables when {@code archive} is set. Expired ingest keys
+ * ({@code event_keys}) are deleted along with them.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PartitionManager {
+
+    private static final List<String> TABLES = List.of("events", "notifications");
+
+    private final DatabaseClient databaseClient;
+
+    private Disposable schedule;
+
+    @Value("${app.partitions.precreate-days:7}")
+    private int precreateDays;
+
+    @Value("${app.partitions.retention-days:30}")
+    private int retentionDays;
+
+    @Value("${app.partitions.archive:false}")
+    private boolean archive;
+
+    @Value("${app.partitions.check-interval-minutes:60}")
+    private long checkIntervalMinutes;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        schedule = Flux.interval(Duration.ZERO, Duration.ofMinutes(checkIntervalMinutes))
+                .onBackpressureDrop()
+                .concatMap(tick -> maintain()
+                        .onErrorResume(e -> {
+                            log.error("Partition maintenance failed: {}", e.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (schedule != null) {
+            schedule.dispose();
+        }
+    }
+
+    private Mono<Void> maintain() {
+        LocalDateTime today = LocalDate.now().atStartOfDay();
+        LocalDateTime keepAfter = today.minusDays(retentionDays);
+
+        return Flux.fromIterable(TABLES)
+                .concatMap(table -> createPartitions(table, today)
+                        .concatWith(expirePartitions(table, keepAfter)))
+                .then(deleteExpiredKeys(keepAfter));
+    }
+
+    private Flux<String> createPartitions(String table, LocalDateTime today) {
+        return databaseClient.sql(
+                        "SELECT notifyhub_create_partitions(CAST(:table AS REGCLASS), :from, :days) AS name")
+                .bind("table", table)
+                .bind("from", today)
+                .bind("days", precreateDays + 1)
+                .map(row -> row.get("name", String.class))
+                .all()
+                .doOnNext(name -> log.info("Created partition {}", name));
+    }
+
+    private Flux<String> expirePartitions(String table, LocalDateTime keepAfter) {
+        return databaseClient.sql(
+                        "SELECT notifyhub_expire_partitions(CAST(:table AS REGCLASS), :keepAfter, :detach) AS name")
+                .bind("table", table)
+                .bind("keepAfter", keepAfter)
+                .bind("detach", archive)
+                .map(row -> row.get("name", String.class))
+                .all()
+                .doOnNext(name -> log.info(archive
+                        ? "Detached expired partition {} for archiving"
+                        : "Dropped expired partition {}", name));
+    }
+
+    private Mono<Void> deleteExpiredKeys(LocalDateTime keepAfter) {
+        return databaseClient.sql("DELETE FROM event_keys WHERE created_at < :keepAfter")
+                .bind("keepAfter", keepAfter)
+                .fetch()
+                .rowsUpdated()
+                .doOnNext(count -> {
+                    if (count > 0) log.info("Deleted {} expired event keys", count);
+                })
+                .then();
+    }
+}
@@ -1,6 +1,7 @@
 package com.notifyhub.service;
 
 import com.notifyhub.dto.RuleDto;
+import com.notifyhub.engine.RuleCache;
 import com.notifyhub.model.Rule;
 import com.notifyhub.repository.RuleRepository;
 import com.notifyhub.repository.SubscriptionRepository;
@@ -19,6 +20,7 @@ public class RuleService {
 
     private final RuleRepository ruleRepository;
     private final SubscriptionRepository subscriptionRepository;
+    private final RuleCache ruleCache;
 
     public Flux<RuleDto> findBySubscriptionId(Long subscriptionId) {
         return ruleRepository.findBySubscriptionId(subscriptionId)
@@ -42,6 +44,7 @@ public class RuleService {
                             .build();
                     return ruleRepository.save(rule);
                 })
+                .doOnNext(ruleCache::put)
                 .doOnNext(r -> log.info("Rule created: id={}, subId={}", r.getId(), r.getSubscriptionId()))
                 .map(this::toDto);
     }
@@ -62,6 +65,7 @@ public class RuleService {
                     if (dto.getQuietHoursEnd() != null) existing.setQuietHoursEnd(dto.getQuietHoursEnd());
                     return ruleRepository.save(existing);
                 })
+                .doOnNext(ruleCache::put)
                 .map(this::toDto);
     }
 
@@ -72,7 +76,8 @@ public class RuleService {
                         .filter(s -> s.getUserId().equals(userId))
                         .switchIfEmpty(Mono.error(new RuntimeException("Access denied")))
                         .thenReturn(existing))
-                .flatMap(r -> ruleRepository.deleteById(r.getId()));
+                .flatMap(r -> ruleRepository.deleteById(r.getId())
+                        .doOnSuccess(v -> ruleCache.remove(r)));
     }
 
     private RuleDto toDto(Rule r) {
@@ -0,0 +1,238 @@
+package com.notifyhub.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory totals and rates for the monitoring endpoint, so reading them costs no queries.
+ * Totals are counted by the write paths and reconciled every {@code reconcile-interval-seconds}:
+ * users and subscriptions with an exact count, events and notifications with the live-tuple estimate
+ * of their partitions, or an exact count while that estimate is below {@code exact-count-below}.
+ * Rates are per second over each of {@code rate-windows-seconds}, from one-second buckets.
+ */
+@Slf4j
+@Component
+public class StatsService {
+
+    private final DatabaseClient databaseClient;
+    private final Total users = new Total("users", true);
+    private final Total subscriptions = new Total("subscriptions", true);
+    private final Total events = new Total("events", false);
+    private final Total notifications = new Total("notifications", false);
+    private final SlidingRate eventRate;
+    private final SlidingRate notificationRate;
+    private final Map<String, SlidingRate> deliveryRates = new ConcurrentHashMap<>();
+    private final List<Integer> windows;
+
+    private volatile LocalDateTime reconciledAt;
+    private Disposable reconciler;
+
+    @Value("${app.monitoring.stats.reconcile-interval-seconds:300}")
+    private long reconcileIntervalSeconds;
+
+    @Value("${app.monitoring.stats.exact-count-below:100000}")
+    private long exactCountBelow;
+
+    public StatsService(DatabaseClient databaseClient,
+                        @Value("${app.monitoring.stats.rate-windows-seconds:60,300}") List<Integer> windows) {
+        this.databaseClient = databaseClient;
+        this.windows = List.copyOf(windows);
+        int longest = windows.stream().mapToInt(Integer::intValue).max().orElse(60);
+        this.eventRate = new SlidingRate(longest);
+        this.notificationRate = new SlidingRate(longest);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        reconciler = Flux.interval(Duration.ZERO, Duration.ofSeconds(reconcileIntervalSeconds))
+                .onBackpressureDrop()
+                .concatMap(tick -> reconcile()
+                        .onErrorResume(e -> {
+                            log.warn("Failed to reconcile monitoring totals: {}", e.getMessage());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (reconciler != null) {
+            reconciler.dispose();
+        }
+    }
+
+    public void userRegistered() {
+        users.delta.increment();
+    }
+
+    public void subscriptionsChanged(int delta) {
+        subscriptions.delta.add(delta);
+    }
+
+    public void eventsInserted(int count) {
+        events.delta.add(count);
+        eventRate.add(count);
+    }
+
+    public void notificationsCreated(int count) {
+        notifications.delta.add(count);
+        notificationRate.add(count);
+    }
+
+    public void deliveryRecorded(String status) {
+        deliveryRates.computeIfAbsent(status, s -> new SlidingRate(eventRate.size())).add(1);
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> deliveries = new LinkedHashMap<>();
+        deliveryRates.forEach((status, rate) -> deliveries.put(status, rates(rate)));
+
+        Map<String, Object> rates = new LinkedHashMap<>();
+        rates.put("eventsPerSecond", rates(eventRate));
+        rates.put("notificationsPerSecond", rates(notificationRate));
+        rates.put("deliveriesPerSecond", deliveries);
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("totalUsers", users.get());
+        stats.put("totalSubscriptions", subscriptions.get());
+        stats.put("totalEvents", events.get());
+        stats.put("totalNotifications", notifications.get());
+        stats.put("totalsReconciledAt", reconciledAt);
+        stats.put("rates", rates);
+        return stats;
+    }
+
+    private Map<String, Double> rates(SlidingRate rate) {
+        long now = epochSecond();
+        Map<String, Double> byWindow = new LinkedHashMap<>();
+        for (int window : windows) {
+            byWindow.put(window + "s", rate.perSecond(now, window));
+        }
+        return byWindow;
+    }
+
+    private Mono<Void> reconcile() {
+        return Flux.just(users, subscriptions, events, notifications)
+                .concatMap(this::reconcile)
+                .then(Mono.fromRunnable(() -> reconciledAt = LocalDateTime.now()));
+    }
+
+    private Mono<Void> reconcile(Total total) {
+        // Increments from here on may already be in the count; a few counted twice are fine until next time
+        long pending = total.delta.sum();
+        Mono<Long> count = total.exact
+                ? exactCount(total.table)
+                : estimate(total.table).flatMap(e -> e < exactCountBelow ? exactCount(total.table) : Mono.just(e));
+        return count
+                .doOnNext(value -> {
+                    total.delta.add(-pending);
+                    total.base = value;
+                })
+                .then();
+    }
+
+    private Mono<Long> exactCount(String table) {
+        // Table names come from this class only
+        return databaseClient.sql("SELECT COUNT(*) AS total FROM " + table)
+                .map(row -> row.get("total", Long.class))
+                .one();
+    }
+
+    /**
+     * Live-tuple estimate kept by the statistics collector, summed over partitions.
+     */
+    private Mono<Long> estimate(String table) {
+        return databaseClient.sql("""
+                        SELECT COALESCE(SUM(s.n_live_tup), 0)::BIGINT AS total
+                          FROM pg_stat_user_tables s
+                         WHERE s.relid = CAST(:table AS REGCLASS)
+                            OR s.relid IN (SELECT inhrelid FROM pg_inherits WHERE inhparent = CAST(:table AS REGCLASS))""")
+                .bind("table", table)
+                .map(row -> row.get("total", Long.class))
+                .one();
+    }
+
+    private static long epochSecond() {
+        return System.currentTimeMillis() / 1000;
+    }
+
+    private static final class Total {
+
+        private final String table;
+        private final boolean exact;
+        private final LongAdder delta = new LongAdder();
+        private volatile long base;
+
+        Total(String table, boolean exact) {
+            this.table = table;
+            this.exact = exact;
+        }
+
+        long get() {
+            return base + delta.sum();
+        }
+    }
+
+    /**
+     * Ring of one-second buckets, each packed as {@code (epochSecond << 32) | count}.
+     */
+    private static final class SlidingRate {
+
+        private final AtomicLongArray buckets;
+
+        SlidingRate(int seconds) {
+            // One extra bucket for the second in progress
+            this.buckets = new AtomicLongArray(seconds + 1);
+        }
+
+        int size() {
+            return buckets.length() - 1;
+        }
+
+        void add(int count) {
+            long second = epochSecond();
+            int index = (int) (second % buckets.length());
+            while (true) {
+                long current = buckets.get(index);
+                long next = (current >>> 32) == second
+                        ? current + count
+                        : (second << 32) | count;
+                if (buckets.compareAndSet(index, current, next)) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Average over the last {@code window} completed seconds.
+         */
+        double perSecond(long now, int window) {
+            long sum = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                long bucket = buckets.get(i);
+                long second = bucket >>> 32;
+                if (second < now && second >= now - window) {
+                    sum += bucket & 0xFFFFFFFFL;
+                }
+            }
+            return (double) sum / window;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.notifyhub.service;
 
+import com.notifyhub.delivery.ChannelRouter;
 import com.notifyhub.dto.SubscriptionDto;
+import com.notifyhub.engine.RuleCache;
 import com.notifyhub.model.Subscription;
 import com.notifyhub.repository.SubscriptionRepository;
 import lombok.RequiredArgsConstructor;
@@ -17,6 +19,8 @@ import java.time.LocalDateTime;
 public class SubscriptionService {
 
     private final SubscriptionRepository subscriptionRepository;
+    private final RuleCache ruleCache;
+    private final StatsService statsService;
 
     public Flux<SubscriptionDto> findByUserId(Long userId) {
         return subscriptionRepository.findByUserId(userId)
@@ -33,6 +37,7 @@ public class SubscriptionService {
                 .build();
 
         return subscriptionRepository.save(subscription)
+                .doOnNext(s -> statsService.subscriptionsChanged(1))
                 .doOnNext(s -> log.info("Subscription created: id={}, userId={}, source={}", s.getId(), userId, s.getSourceType()))
                 .map(this::toDto);
     }
@@ -54,7 +59,11 @@ public class SubscriptionService {
         return subscriptionRepository.findById(id)
                 .filter(s -> s.getUserId().equals(userId))
                 .switchIfEmpty(Mono.error(new RuntimeException("Subscription not found")))
-                .flatMap(s -> subscriptionRepository.deleteById(s.getId()));
+                .flatMap(s -> subscriptionRepository.deleteById(s.getId())
+                        .doOnSuccess(v -> {
+                            ruleCache.evictSubscription(s.getId());
+                            statsService.subscriptionsChanged(-1);
+                        }));
     }
 
     public Flux<Subscription> findAllEnabled() {
@@ -67,6 +76,7 @@ public class SubscriptionService {
                 .sourceType(s.getSourceType())
                 .params(s.getParams())
                 .enabled(s.getEnabled())
+                .channels(ChannelPreferenceService.toList(ChannelRouter.parse(s.getChannels())))
                 .createdAt(s.getCreatedAt())
                 .build();
     }
@@ -0,0 +1,19 @@
+package com.notifyhub.service;
+
+import com.notifyhub.delivery.ChannelRouter;
+import com.notifyhub.model.User;
+
+import java.util.Set;
+
+/**
+ * The part of a {@link User} that delivery channels need, without credentials.
+ *
+ * @param channels external channels the user wants notifications on, null for all
+ */
+public record UserProfile(Long id, String username, String email, String telegramChatId, Set<String> channels) {
+
+    public static UserProfile of(User user) {
+        return new UserProfile(user.getId(), user.getUsername(), user.getEmail(), user.getTelegramChatId(),
+                ChannelRouter.parse(user.getChannels()));
+    }
+}
@@ -0,0 +1,56 @@
+package com.notifyhub.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.notifyhub.model.User;
+import com.notifyhub.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Bounded, TTL-based cache of user delivery profiles.
+ * Concurrent lookups of the same user share one repository call;
+ * {@code AuthService} writes through on registration and {@code ChannelPreferenceService} on preference changes;
+ * other instances see a change once their entry expires after {@code ttl-seconds}.
+ * Hit, miss and eviction statistics are exported as {@code cache.*} meters with {@code cache=userProfiles}.
+ */
+@Component
+public class UserProfileCache {
+
+    private final UserRepository userRepository;
+    private final AsyncCache<Long, UserProfile> cache;
+
+    public UserProfileCache(UserRepository userRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.delivery.user-cache.max-size:10000}") long maxSize,
+                            @Value("${app.delivery.user-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.cache = CaffeineCacheMetrics.monitor(meterRegistry,
+                Caffeine.newBuilder()
+                        .maximumSize(maxSize)
+                        .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                        .recordStats()
+                        .buildAsync(),
+                "userProfiles");
+    }
+
+    /**
+     * @return the profile, or empty if the user does not exist
+     */
+    public Mono<UserProfile> get(Long userId) {
+        return Mono.fromFuture(() -> cache.get(userId, (id, executor) ->
+                userRepository.findById(id)
+                        .map(UserProfile::of)
+                        .toFuture()));
+    }
+
+    public void put(User user) {
+        cache.put(user.getId(), CompletableFuture.completedFuture(UserProfile.of(user)));
+    }
+}
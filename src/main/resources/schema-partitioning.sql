@@ -0,0 +1,125 @@
+-- Runs before schema.sql and is sent to the server as one script, since plpgsql bodies contain semicolons.
+-- events and notifications are range-partitioned by created_at into daily partitions <table>_pYYYYMMDD.
+
+-- Unique index on events(external_id) is not possible across partitions; ingest dedup goes through this table
+CREATE TABLE IF NOT EXISTS event_keys (
+    external_id VARCHAR(500) PRIMARY KEY,
+    created_at  TIMESTAMP    NOT NULL DEFAULT NOW()
+);
+CREATE INDEX IF NOT EXISTS idx_event_keys_created_at ON event_keys(created_at);
+
+-- Creates the daily partitions of parent for `days` days starting with the day of from_ts.
+-- Days already covered by another partition (such as an attached pre-partitioning table) are skipped.
+CREATE OR REPLACE FUNCTION notifyhub_create_partitions(parent REGCLASS, from_ts TIMESTAMP, days INT)
+RETURNS SETOF TEXT LANGUAGE plpgsql AS $$
+DECLARE
+    day_start TIMESTAMP;
+    part      TEXT;
+BEGIN
+    FOR i IN 0 .. days - 1 LOOP
+        day_start := date_trunc('day', from_ts) + i * INTERVAL '1 day';
+        part := parent::TEXT || '_p' || to_char(day_start, 'YYYYMMDD');
+        CONTINUE WHEN to_regclass(part) IS NOT NULL;
+        BEGIN
+            EXECUTE format('CREATE TABLE %I PARTITION OF %s FOR VALUES FROM (%L) TO (%L)',
+                           part, parent, day_start, day_start + INTERVAL '1 day');
+            RETURN NEXT part;
+        EXCEPTION WHEN invalid_object_definition THEN
+            -- Overlaps an existing partition
+            NULL;
+        END;
+    END LOOP;
+END
+$$;
+
+-- Drops the partitions of parent that end at or before keep_after, or only detaches them
+-- (they stay as plain tables, e.g. to be dumped and archived) when detach is set.
+CREATE OR REPLACE FUNCTION notifyhub_expire_partitions(parent REGCLASS, keep_after TIMESTAMP, detach BOOLEAN)
+RETURNS SETOF TEXT LANGUAGE plpgsql AS $$
+DECLARE
+    part    REGCLASS;
+    ends_at TIMESTAMP;
+BEGIN
+    FOR part, ends_at IN
+        SELECT c.oid::REGCLASS,
+               substring(pg_get_expr(c.relpartbound, c.oid) FROM 'TO \(''([^'']+)''\)')::TIMESTAMP
+          FROM pg_inherits i
+          JOIN pg_class c ON c.oid = i.inhrelid
+         WHERE i.inhparent = parent
+    LOOP
+        CONTINUE WHEN ends_at IS NULL OR ends_at > keep_after;
+        IF detach THEN
+            EXECUTE format('ALTER TABLE %s DETACH PARTITION %s', parent, part);
+        ELSE
+            EXECUTE format('DROP TABLE %s', part);
+        END IF;
+        RETURN NEXT part::TEXT;
+    END LOOP;
+END
+$$;
+
+-- Databases created before partitioning: the old tables become the first partition of the new ones,
+-- covering everything up to the end of today, and are dropped as a whole once they expire.
+DO $$
+DECLARE
+    legacy_end TIMESTAMP := date_trunc('day', LOCALTIMESTAMP) + INTERVAL '1 day';
+    con        RECORD;
+    idx        RECORD;
+    legacy     TEXT;
+BEGIN
+    IF (SELECT relkind FROM pg_class WHERE oid = to_regclass('notifications')) = 'r' THEN
+        -- Foreign keys are recreated on the partitioned table; the one to events cannot be
+        FOR con IN SELECT conname FROM pg_constraint
+                    WHERE conrelid = 'notifications'::REGCLASS AND contype IN ('f', 'p') LOOP
+            EXECUTE format('ALTER TABLE notifications DROP CONSTRAINT %I', con.conname);
+        END LOOP;
+        ALTER TABLE notifications ADD COLUMN IF NOT EXISTS rule_id BIGINT;
+        ALTER TABLE notifications ADD COLUMN IF NOT EXISTS event_created_at TIMESTAMP;
+    END IF;
+
+    FOREACH legacy IN ARRAY ARRAY['events', 'notifications'] LOOP
+        CONTINUE WHEN (SELECT relkind FROM pg_class WHERE oid = to_regclass(legacy)) IS DISTINCT FROM 'r';
+
+        EXECUTE format('ALTER TABLE %I RENAME TO %I', legacy, legacy || '_legacy');
+        FOR con IN SELECT conname FROM pg_constraint
+                    WHERE conrelid = (legacy || '_legacy')::REGCLASS AND contype IN ('p', 'u') LOOP
+            EXECUTE format('ALTER TABLE %I DROP CONSTRAINT %I', legacy || '_legacy', con.conname);
+        END LOOP;
+        -- Recreated on the partitioned table by schema.sql, which cascades them to this partition
+        FOR idx IN SELECT indexrelid::REGCLASS AS name FROM pg_index
+                    WHERE indrelid = (legacy || '_legacy')::REGCLASS LOOP
+            EXECUTE format('DROP INDEX %s', idx.name);
+        END LOOP;
+
+        EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS) PARTITION BY RANGE (created_at)',
+                       legacy, legacy || '_legacy');
+        EXECUTE format('ALTER TABLE %I ADD PRIMARY KEY (id, created_at)', legacy);
+        EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I FOR VALUES FROM (MINVALUE) TO (%L)',
+                       legacy, legacy || '_legacy', legacy_end);
+        RAISE NOTICE 'Converted % to a partitioned table, old rows kept in partition %_legacy', legacy, legacy;
+    END LOOP;
+
+    IF to_regclass('events_legacy') IS NOT NULL AND NOT EXISTS (SELECT 1 FROM event_keys) THEN
+        INSERT INTO event_keys (external_id, created_at)
+        SELECT external_id, MAX(created_at) FROM events_legacy
+         WHERE external_id IS NOT NULL
+         GROUP BY external_id;
+    END IF;
+
+    IF to_regclass('notifications_legacy') IS NOT NULL AND to_regclass('events_legacy') IS NOT NULL THEN
+        UPDATE notifications_legacy n
+           SET event_created_at = e.created_at
+          FROM events_legacy e
+         WHERE e.id = n.event_id AND n.event_created_at IS NULL;
+    END IF;
+
+    IF to_regclass('notifications_legacy') IS NOT NULL
+            AND pg_get_serial_sequence('notifications', 'id') IS NULL THEN
+        -- The id sequence must outlive the legacy partition
+        ALTER SEQUENCE notifications_id_seq OWNED BY notifications.id;
+        ALTER TABLE notifications
+            ADD FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+            ADD FOREIGN KEY (rule_id) REFERENCES rules(id) ON DELETE SET NULL;
+    END IF;
+END
+$$;
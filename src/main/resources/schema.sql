@@ -5,6 +5,7 @@ CREATE TABLE IF NOT EXISTS users (
     password    VARCHAR(255) NOT NULL,
     role        VARCHAR(50)  NOT NULL DEFAULT 'USER',
     telegram_chat_id VARCHAR(100),
+    channels    VARCHAR(255),
     created_at  TIMESTAMP    NOT NULL DEFAULT NOW()
 );
 
@@ -14,6 +15,7 @@ CREATE TABLE IF NOT EXISTS subscriptions (
     source_type VARCHAR(50)  NOT NULL,
     params      TEXT,
     enabled     BOOLEAN      NOT NULL DEFAULT TRUE,
+    channels    VARCHAR(255),
     created_at  TIMESTAMP    NOT NULL DEFAULT NOW()
 );
 
@@ -29,34 +31,71 @@ CREATE TABLE IF NOT EXISTS rules (
     created_at            TIMESTAMP    NOT NULL DEFAULT NOW()
 );
 
+-- Partitioned by day of created_at; partitions are managed by PartitionManager (see schema-partitioning.sql)
 CREATE TABLE IF NOT EXISTS events (
-    id           UUID         PRIMARY KEY DEFAULT gen_random_uuid(),
+    id           UUID         NOT NULL DEFAULT gen_random_uuid(),
     source_type  VARCHAR(50)  NOT NULL,
     external_id  VARCHAR(500),
     title        VARCHAR(1000),
     payload_json TEXT,
     priority     VARCHAR(20)  NOT NULL DEFAULT 'MEDIUM',
-    created_at   TIMESTAMP    NOT NULL DEFAULT NOW()
+    created_at   TIMESTAMP    NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- HTTP validators and high-water mark per polled source (sourceType::params)
+CREATE TABLE IF NOT EXISTS source_poll_state (
+    source_key      TEXT         PRIMARY KEY,
+    etag            VARCHAR(500),
+    last_modified   VARCHAR(100),
+    high_water_mark VARCHAR(100),
+    body_bytes      BIGINT       NOT NULL DEFAULT 0,
+    updated_at      TIMESTAMP    NOT NULL DEFAULT NOW()
 );
 
+-- Partitioned like events. event_created_at completes the key of the event, so joins hit one partition
 CREATE TABLE IF NOT EXISTS notifications (
-    id          BIGSERIAL PRIMARY KEY,
+    id          BIGSERIAL,
     user_id     BIGINT       NOT NULL REFERENCES users(id) ON DELETE CASCADE,
-    event_id    UUID         REFERENCES events(id),
+    event_id    UUID,
+    event_created_at TIMESTAMP,
+    rule_id     BIGINT       REFERENCES rules(id) ON DELETE SET NULL,
     channel     VARCHAR(50)  NOT NULL,
+    priority    VARCHAR(20),
     status      VARCHAR(50)  NOT NULL DEFAULT 'CREATED',
     attempts    INT          NOT NULL DEFAULT 0,
     last_error  TEXT,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT NOW(),
     created_at  TIMESTAMP    NOT NULL DEFAULT NOW(),
-    updated_at  TIMESTAMP    NOT NULL DEFAULT NOW()
-);
+    updated_at  TIMESTAMP    NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- Columns added after the initial release
+ALTER TABLE notifications ADD COLUMN IF NOT EXISTS priority VARCHAR(20);
+ALTER TABLE notifications ADD COLUMN IF NOT EXISTS next_attempt_at TIMESTAMP NOT NULL DEFAULT NOW();
+ALTER TABLE notifications ADD COLUMN IF NOT EXISTS rule_id BIGINT REFERENCES rules(id) ON DELETE SET NULL;
+ALTER TABLE notifications ADD COLUMN IF NOT EXISTS event_created_at TIMESTAMP;
+-- Channel preferences, comma-separated channel names; NULL means every channel
+ALTER TABLE users ADD COLUMN IF NOT EXISTS channels VARCHAR(255);
+ALTER TABLE subscriptions ADD COLUMN IF NOT EXISTS channels VARCHAR(255);
 
 CREATE INDEX IF NOT EXISTS idx_subscriptions_user_id   ON subscriptions(user_id);
 CREATE INDEX IF NOT EXISTS idx_subscriptions_enabled   ON subscriptions(enabled);
 CREATE INDEX IF NOT EXISTS idx_rules_subscription_id   ON rules(subscription_id);
-CREATE INDEX IF NOT EXISTS idx_notifications_user_id   ON notifications(user_id);
+DROP INDEX IF EXISTS idx_notifications_user_id;
+-- Newest-first listing per user with keyset pagination on (created_at, id)
+CREATE INDEX IF NOT EXISTS idx_notifications_user_created ON notifications(user_id, created_at DESC, id DESC);
 CREATE INDEX IF NOT EXISTS idx_notifications_status    ON notifications(status);
 CREATE INDEX IF NOT EXISTS idx_events_source_type      ON events(source_type);
-CREATE INDEX IF NOT EXISTS idx_events_external_id      ON events(external_id);
+DROP INDEX IF EXISTS idx_events_external_id;
+DROP INDEX IF EXISTS uq_events_external_id;
 CREATE INDEX IF NOT EXISTS idx_events_created_at       ON events(created_at);
 CREATE INDEX IF NOT EXISTS idx_notifications_created   ON notifications(created_at);
+-- Delivery outbox: external-channel rows still waiting to be sent
+CREATE INDEX IF NOT EXISTS idx_notifications_outbox    ON notifications(next_attempt_at)
+    WHERE status IN ('CREATED', 'QUEUED') AND channel <> 'UI';
+
+-- Today's and the next week's partitions, so rows can be written before PartitionManager first runs
+SELECT notifyhub_create_partitions('events', LOCALTIMESTAMP, 8);
+SELECT notifyhub_create_partitions('notifications', LOCALTIMESTAMP, 8);